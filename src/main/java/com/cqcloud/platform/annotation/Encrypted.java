@@ -6,11 +6,14 @@ import java.lang.annotation.*;
 
 /**
  * 字段加密注解
- * 标记需要加密的数据库字段
+ * 标记需要加密的数据库字段；也可标注在加密类型处理器子类上，为该处理器指定密钥与算法
+ * 字段处理器只在 String 与 {@link com.cqcloud.platform.lazy.LazyDecrypted} 字段中原地保存密文；其他类型的字段
+ * 必须通过 {@code @TableField(typeHandler = ...)} 配置带本注解的
+ * {@link com.cqcloud.platform.handler.EncryptedValueTypeHandler} 子类，MyBatis-Plus实体中未配置的字段在启动时报错
  * @author weimeilayer@gmail.com ✨
  * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
  */
-@Target(ElementType.FIELD)
+@Target({ElementType.FIELD, ElementType.TYPE})
 @Retention(RetentionPolicy.RUNTIME)
 @Documented
 public @interface Encrypted {
@@ -34,4 +37,9 @@ public @interface Encrypted {
      * 自定义字段格式（用于复杂类型加密）
      */
     String format() default "";
+
+    /**
+     * 压缩阈值（字节），UTF-8编码后不小于该长度的值先压缩再加密，适用于较大的JSON文档、地址等文本；-1表示不压缩
+     */
+    int compressThreshold() default -1;
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.cqcloud.platform.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 请求/响应体字段加密注解
+ * 标注在控制器类或方法上，该接口JSON请求体中带有 {@link Encrypted} 注解的字符串属性在反序列化时解密，
+ * JSON响应体中的这些属性在序列化时加密；未标注的接口保持明文
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface EncryptedBody {
+}
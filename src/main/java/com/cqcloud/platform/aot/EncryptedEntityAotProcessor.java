@@ -0,0 +1,125 @@
+package com.cqcloud.platform.aot;
+
+import com.cqcloud.platform.annotation.Encrypted;
+import com.cqcloud.platform.annotation.NeedEncryption;
+import com.cqcloud.platform.utils.ReflectionUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.ReflectionHints;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackages;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.util.ClassUtils;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * 加密实体AOT处理器
+ * 构建时扫描应用包中带有 {@link NeedEncryption} 注解或 {@link Encrypted} 字段的类，
+ * 为其（含父类）注册字段反射与构造器提示，使加解密处理器在原生镜像中可以读写这些字段；
+ * 类上标注 {@link Encrypted} 的MyBatis类型处理器与JPA属性转换器子类注册公共构造器提示，由框架反射创建
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+@Slf4j
+public class EncryptedEntityAotProcessor implements BeanFactoryInitializationAotProcessor {
+
+    /**
+     * 由框架反射创建、可通过类上的 {@link Encrypted} 指定密钥的转换器类型
+     */
+    private static final String[] CONVERTER_TYPES = {
+            "org.apache.ibatis.type.TypeHandler",
+            "jakarta.persistence.AttributeConverter"
+    };
+
+    @Override
+    public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+        if (!AutoConfigurationPackages.has(beanFactory)) {
+            return null;
+        }
+        ClassLoader classLoader = beanFactory.getBeanClassLoader();
+        Set<Class<?>> candidates = scan(AutoConfigurationPackages.get(beanFactory), classLoader);
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        Set<Class<?>> converters = new LinkedHashSet<>();
+        Set<Class<?>> entities = new LinkedHashSet<>();
+        Predicate<Class<?>> isConverter = converterPredicate(classLoader);
+        for (Class<?> candidate : candidates) {
+            (isConverter.test(candidate) ? converters : entities).add(candidate);
+        }
+        log.debug("注册加密实体原生镜像提示: 实体数={}, 转换器数={}", entities.size(), converters.size());
+        return (generationContext, code) -> {
+            ReflectionHints reflection = generationContext.getRuntimeHints().reflection();
+            for (Class<?> entity : entities) {
+                for (Class<?> type = entity; type != null && type != Object.class; type = type.getSuperclass()) {
+                    reflection.registerType(type, MemberCategory.DECLARED_FIELDS,
+                            MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+                }
+            }
+            for (Class<?> converter : converters) {
+                reflection.registerType(converter, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            }
+        };
+    }
+
+    /**
+     * 判断类是否为类路径中存在的某种转换器类型的实现
+     */
+    private static Predicate<Class<?>> converterPredicate(ClassLoader classLoader) {
+        Predicate<Class<?>> predicate = type -> false;
+        for (String name : CONVERTER_TYPES) {
+            if (ClassUtils.isPresent(name, classLoader)) {
+                Class<?> converterType = ClassUtils.resolveClassName(name, classLoader);
+                predicate = predicate.or(converterType::isAssignableFrom);
+            }
+        }
+        return predicate;
+    }
+
+    private static Set<Class<?>> scan(Iterable<String> packages, ClassLoader classLoader) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+            @Override
+            protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+                return beanDefinition.getMetadata().isIndependent();
+            }
+        };
+        scanner.addIncludeFilter(new AnnotationTypeFilter(NeedEncryption.class));
+        // 类上标注 @Encrypted 的类型处理器与属性转换器子类
+        Predicate<Class<?>> isConverter = converterPredicate(classLoader);
+        scanner.addIncludeFilter((reader, factory) -> {
+            if (!reader.getAnnotationMetadata().hasAnnotation(Encrypted.class.getName())) {
+                return false;
+            }
+            try {
+                return isConverter.test(ClassUtils.forName(reader.getClassMetadata().getClassName(), classLoader));
+            } catch (ClassNotFoundException | LinkageError e) {
+                return false;
+            }
+        });
+        // 字段注解无法从类元数据读取，加载类后判断
+        scanner.addIncludeFilter((reader, factory) -> {
+            try {
+                Class<?> type = ClassUtils.forName(reader.getClassMetadata().getClassName(), classLoader);
+                return !ReflectionUtil.getFieldsWithAnnotation(type, Encrypted.class).isEmpty();
+            } catch (ClassNotFoundException | LinkageError e) {
+                return false;
+            }
+        });
+
+        Set<Class<?>> entities = new LinkedHashSet<>();
+        for (String basePackage : packages) {
+            for (BeanDefinition candidate : scanner.findCandidateComponents(basePackage)) {
+                entities.add(ClassUtils.resolveClassName(candidate.getBeanClassName(), classLoader));
+            }
+        }
+        return entities;
+    }
+}
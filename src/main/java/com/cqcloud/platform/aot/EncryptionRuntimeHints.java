@@ -0,0 +1,90 @@
+package com.cqcloud.platform.aot;
+
+import com.cqcloud.platform.handler.EncryptedBytesTypeHandler;
+import com.cqcloud.platform.handler.EncryptedStringTypeHandler;
+import com.cqcloud.platform.handler.EncryptedValueTypeHandler;
+import com.cqcloud.platform.handler.LazyDecryptedTypeHandler;
+import com.cqcloud.platform.lazy.LazyDecrypted;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * 原生镜像运行时提示
+ * 注册BouncyCastle通过类名反射加载的算法实现、MyBatis与JPA反射创建的类型处理器与属性转换器、
+ * 拦截器与按列解密使用的JDK动态代理；实体的反射提示由 {@link EncryptedEntityAotProcessor} 在构建时扫描注册
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+public class EncryptionRuntimeHints implements RuntimeHintsRegistrar {
+
+    /**
+     * BouncyCastleProvider 按类名加载的对称算法实现（仅本组件使用的AES与SM4）
+     */
+    private static final String[] BOUNCY_CASTLE_TYPES = {
+            "org.bouncycastle.jce.provider.BouncyCastleProvider",
+            "org.bouncycastle.jcajce.provider.symmetric.AES$Mappings",
+            "org.bouncycastle.jcajce.provider.symmetric.AES$ECB",
+            "org.bouncycastle.jcajce.provider.symmetric.AES$CBC",
+            "org.bouncycastle.jcajce.provider.symmetric.AES$GCM",
+            "org.bouncycastle.jcajce.provider.symmetric.AES$KeyGen",
+            "org.bouncycastle.jcajce.provider.symmetric.AES$AlgParams",
+            "org.bouncycastle.jcajce.provider.symmetric.AES$AlgParamsGCM",
+            "org.bouncycastle.jcajce.provider.symmetric.SM4$Mappings",
+            "org.bouncycastle.jcajce.provider.symmetric.SM4$ECB",
+            "org.bouncycastle.jcajce.provider.symmetric.SM4$KeyGen",
+            "org.bouncycastle.jcajce.provider.symmetric.SM4$AlgParams"
+    };
+
+    private static final String[] MYBATIS_PLUGIN_TYPES = {
+            "org.apache.ibatis.executor.Executor",
+            "org.apache.ibatis.executor.parameter.ParameterHandler",
+            "org.apache.ibatis.executor.resultset.ResultSetHandler"
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (String type : BOUNCY_CASTLE_TYPES) {
+            hints.reflection().registerType(TypeReference.of(type), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+
+        // 按列解密的语句与结果集代理、加密数据源代理（原生镜像中只代理标准JDBC接口）
+        hints.proxies().registerJdkProxy(DataSource.class);
+        hints.proxies().registerJdkProxy(Connection.class);
+        hints.proxies().registerJdkProxy(Statement.class);
+        hints.proxies().registerJdkProxy(PreparedStatement.class);
+        hints.proxies().registerJdkProxy(CallableStatement.class);
+        hints.proxies().registerJdkProxy(ResultSet.class);
+
+        if (ClassUtils.isPresent("jakarta.persistence.AttributeConverter", classLoader)) {
+            hints.reflection().registerType(TypeReference.of("com.cqcloud.platform.jpa.EncryptedAttributeConverter"),
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+
+        if (ClassUtils.isPresent(MYBATIS_PLUGIN_TYPES[0], classLoader)) {
+            // @TableField(typeHandler = ...) 由MyBatis反射创建
+            hints.reflection().registerTypes(TypeReference.listOf(EncryptedStringTypeHandler.class,
+                            EncryptedBytesTypeHandler.class, EncryptedValueTypeHandler.class,
+                            LazyDecryptedTypeHandler.class),
+                    builder -> builder.withMembers(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS));
+            hints.reflection().registerType(LazyDecrypted.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+            // 拦截器签名按方法名反射查找，被拦截对象通过JDK动态代理包装
+            hints.reflection().registerType(TypeReference.of("com.cqcloud.platform.interceptor.MybatisPlusInterceptorWrapper"),
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+            for (String type : MYBATIS_PLUGIN_TYPES) {
+                hints.reflection().registerType(TypeReference.of(type), MemberCategory.INVOKE_PUBLIC_METHODS);
+                hints.proxies().registerJdkProxy(TypeReference.of(type));
+            }
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.cqcloud.platform.bulk;
+
+import com.cqcloud.platform.exception.EncryptException;
+import com.cqcloud.platform.exception.EncryptionException;
+import com.cqcloud.platform.manager.EncryptionManager;
+import com.cqcloud.platform.tenant.TenantContextHolder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+
+/**
+ * 批量文件加解密器
+ * 输入文件按记录边界切分为多个区域（CSV跳过引号内的换行符），每个区域通过 {@link FileChannel#map} 映射后并行处理，
+ * 只有配置的列会被解码并交给 {@link EncryptionManager} 加解密，其余字节从映射缓冲区直接复制到直接缓冲区；
+ * 各区域先写入临时文件，最后按顺序拼接为目标文件；工作线程使用调用线程的当前租户
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+@Slf4j
+public class BulkFileEncryptor {
+
+    private static final int OUTPUT_BUFFER_SIZE = 1024 * 1024;
+    private static final int SCAN_BUFFER_SIZE = 8 * 1024;
+
+    private final EncryptionManager encryptionManager;
+    private final int parallelism;
+    private final int regionSize;
+
+    public BulkFileEncryptor(EncryptionManager encryptionManager, int parallelism, int regionSize) {
+        if (parallelism <= 0 || regionSize <= 0) {
+            throw new IllegalArgumentException("并行度与区域大小必须大于0");
+        }
+        this.encryptionManager = encryptionManager;
+        this.parallelism = parallelism;
+        this.regionSize = regionSize;
+    }
+
+    /**
+     * 加密文件中配置的列
+     * @param source 源文件
+     * @param target 目标文件
+     * @param format 文件格式
+     * @param columnKeyIds 列名 -> 密钥ID
+     * @return 处理结果
+     */
+    public BulkFileResult encrypt(Path source, Path target, BulkFileFormat format,
+                                  Map<String, String> columnKeyIds) throws IOException {
+        return process(source, target, format, columnKeyIds,
+                (column, value) -> encryptionManager.isEncrypted(value)
+                        ? value : encryptionManager.encrypt(value, columnKeyIds.get(column)));
+    }
+
+    /**
+     * 解密文件中配置的列
+     * @param source 源文件
+     * @param target 目标文件
+     * @param format 文件格式
+     * @param columnKeyIds 列名 -> 密钥ID
+     * @return 处理结果
+     */
+    public BulkFileResult decrypt(Path source, Path target, BulkFileFormat format,
+                                  Map<String, String> columnKeyIds) throws IOException {
+        return process(source, target, format, columnKeyIds,
+                (column, value) -> encryptionManager.isEncrypted(value)
+                        ? encryptionManager.decrypt(value, columnKeyIds.get(column)) : value);
+    }
+
+    private BulkFileResult process(Path source, Path target, BulkFileFormat format, Map<String, String> columnKeyIds,
+                                   BiFunction<String, String, String> transformer) throws IOException {
+        long begin = System.currentTimeMillis();
+        List<Path> parts = new ArrayList<>();
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+            long size = in.size();
+
+            // CSV首行为列名，原样写出
+            long dataStart = 0;
+            byte[] header = new byte[0];
+            RecordProcessor processor;
+            if (format == BulkFileFormat.CSV) {
+                dataStart = nextRecordStart(in, 0, 0, size, true);
+                header = readBytes(in, 0, dataStart);
+                processor = new CsvRecordProcessor(resolveCsvColumns(header, columnKeyIds));
+            } else {
+                processor = new JsonlRecordProcessor(columnKeyIds.keySet());
+            }
+
+            List<long[]> regions = split(in, dataStart, size, format == BulkFileFormat.CSV);
+            long records = 0;
+            ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, regions.size())));
+            try {
+                List<Future<Long>> futures = new ArrayList<>();
+                for (long[] region : regions) {
+                    Path part = Files.createTempFile(target.toAbsolutePath().getParent(), ".bulk-", ".part");
+                    parts.add(part);
+                    futures.add(executor.submit(TenantContextHolder.wrap(() -> processRegion(in, region[0],
+                            region[1], part, processor, transformer))));
+                }
+                for (Future<Long> future : futures) {
+                    records += await(future);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            long outputBytes = concat(target, header, parts);
+            BulkFileResult result = new BulkFileResult(records, size, outputBytes,
+                    System.currentTimeMillis() - begin);
+            log.info("批量文件处理完成: source={}, regions={}, {}", source, regions.size(), result);
+            return result;
+        } finally {
+            for (Path part : parts) {
+                Files.deleteIfExists(part);
+            }
+        }
+    }
+
+    /**
+     * 处理一个区域，返回记录数
+     */
+    private long processRegion(FileChannel in, long start, long end, Path part, RecordProcessor processor,
+                               BiFunction<String, String, String> transformer) throws IOException {
+        int length = (int) (end - start);
+        MappedByteBuffer buffer = in.map(FileChannel.MapMode.READ_ONLY, start, length);
+        ScratchBuffer scratch = new ScratchBuffer();
+        long records = 0;
+
+        try (FileChannel out = FileChannel.open(part, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            RegionWriter writer = new RegionWriter(out, OUTPUT_BUFFER_SIZE);
+            int lineStart = 0;
+            while (lineStart < length) {
+                int lineEnd = processor.recordEnd(buffer, lineStart, length);
+                int contentEnd = lineEnd;
+                if (contentEnd > lineStart && buffer.get(contentEnd - 1) == '\r') {
+                    contentEnd--;
+                }
+                if (contentEnd > lineStart) {
+                    processor.process(buffer, lineStart, contentEnd, scratch, transformer, writer);
+                    records++;
+                }
+                int next = lineEnd < length ? lineEnd + 1 : length;
+                writer.copy(buffer, contentEnd, next);
+                lineStart = next;
+            }
+            writer.flush();
+        }
+        return records;
+    }
+
+    /**
+     * 按记录边界切分区域
+     * @param quoteAware 是否跳过引号内的换行符（CSV）
+     */
+    private List<long[]> split(FileChannel in, long start, long size, boolean quoteAware) throws IOException {
+        List<long[]> regions = new ArrayList<>();
+        while (start < size) {
+            long end = Math.min(start + regionSize, size);
+            if (end < size) {
+                end = nextRecordStart(in, start, end - 1, size, quoteAware);
+            }
+            if (end - start > Integer.MAX_VALUE) {
+                throw new EncryptException("单行记录过长，无法映射: offset=" + start);
+            }
+            regions.add(new long[]{start, end});
+            start = end;
+        }
+        return regions;
+    }
+
+    /**
+     * 返回from处或之后第一个记录结束换行符的下一个位置
+     * 需要跳过引号内的换行符时，引号状态只能从记录起始位置开始确定，因此从recordStart顺序扫描
+     * @param recordStart 记录起始位置
+     * @param from 开始查找换行符的位置
+     * @param quoteAware 是否跳过引号内的换行符（CSV）
+     */
+    private long nextRecordStart(FileChannel in, long recordStart, long from, long size,
+                                 boolean quoteAware) throws IOException {
+        long position = quoteAware ? recordStart : from;
+        ByteBuffer buffer = ByteBuffer.allocate(quoteAware ? OUTPUT_BUFFER_SIZE : SCAN_BUFFER_SIZE);
+        boolean quoted = false;
+        while (position < size) {
+            buffer.clear();
+            int n = in.read(buffer, position);
+            if (n <= 0) {
+                break;
+            }
+            for (int i = 0; i < n; i++) {
+                byte b = buffer.get(i);
+                if (quoteAware && b == '"') {
+                    quoted = !quoted;
+                } else if (b == '\n' && !quoted && position + i >= from) {
+                    return position + i + 1;
+                }
+            }
+            position += n;
+        }
+        return size;
+    }
+
+    private byte[] readBytes(FileChannel in, long start, long end) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+        while (buffer.hasRemaining()) {
+            if (in.read(buffer, start + buffer.position()) < 0) {
+                break;
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * 解析CSV列名，返回列序号 -> 列名
+     */
+    private String[] resolveCsvColumns(byte[] header, Map<String, String> columnKeyIds) {
+        String line = new String(header, StandardCharsets.UTF_8).replace("\uFEFF", "").trim();
+        String[] names = CsvRecordProcessor.parseHeader(line);
+        String[] targets = new String[names.length];
+        int matched = 0;
+        for (int i = 0; i < names.length; i++) {
+            String name = names[i];
+            if (columnKeyIds.containsKey(name)) {
+                targets[i] = name;
+                matched++;
+            }
+        }
+        if (matched != columnKeyIds.size()) {
+            throw new IllegalArgumentException("CSV列名中缺少配置的列: " + columnKeyIds.keySet());
+        }
+        return targets;
+    }
+
+    private long concat(Path target, byte[] header, List<Path> parts) throws IOException {
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer headerBuffer = ByteBuffer.wrap(header);
+            while (headerBuffer.hasRemaining()) {
+                out.write(headerBuffer);
+            }
+            for (Path part : parts) {
+                try (FileChannel in = FileChannel.open(part, StandardOpenOption.READ)) {
+                    long size = in.size();
+                    long transferred = 0;
+                    while (transferred < size) {
+                        transferred += in.transferTo(transferred, size - transferred, out);
+                    }
+                }
+            }
+            return out.size();
+        }
+    }
+
+    private long await(Future<Long> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EncryptException("批量文件处理被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof EncryptionException) {
+                throw (EncryptionException) cause;
+            }
+            throw new EncryptException("批量文件处理失败: " + cause.getMessage(), cause);
+        }
+    }
+}
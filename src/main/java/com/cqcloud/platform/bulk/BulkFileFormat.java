@@ -0,0 +1,19 @@
+package com.cqcloud.platform.bulk;
+
+/**
+ * 批量文件格式枚举
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+public enum BulkFileFormat {
+
+    /**
+     * CSV文件，首行为列名，记录不能跨行
+     */
+    CSV,
+
+    /**
+     * JSON Lines文件，每行一个JSON对象，仅处理顶层字符串字段
+     */
+    JSONL
+}
@@ -0,0 +1,48 @@
+package com.cqcloud.platform.bulk;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 批量文件加解密结果
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+@Getter
+@ToString
+public class BulkFileResult {
+
+    /**
+     * 处理的记录数
+     */
+    private final long records;
+
+    /**
+     * 输入文件字节数
+     */
+    private final long inputBytes;
+
+    /**
+     * 输出文件字节数
+     */
+    private final long outputBytes;
+
+    /**
+     * 耗时（毫秒）
+     */
+    private final long elapsedMillis;
+
+    BulkFileResult(long records, long inputBytes, long outputBytes, long elapsedMillis) {
+        this.records = records;
+        this.inputBytes = inputBytes;
+        this.outputBytes = outputBytes;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * 输入吞吐量（MB/s）
+     */
+    public double getThroughputMbPerSecond() {
+        return elapsedMillis == 0 ? 0 : inputBytes / 1024.0 / 1024.0 / (elapsedMillis / 1000.0);
+    }
+}
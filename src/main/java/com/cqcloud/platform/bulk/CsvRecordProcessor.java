@@ -0,0 +1,144 @@
+package com.cqcloud.platform.bulk;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * CSV记录处理器
+ * 按字节扫描分隔符，只有配置的列会被解码与转换，其余字段原样复制；引号内的分隔符与换行符属于字段内容
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+final class CsvRecordProcessor implements RecordProcessor {
+
+    private static final byte DELIMITER = ',';
+    private static final byte QUOTE = '"';
+
+    /**
+     * 列序号 -> 列名，未配置的列为null
+     */
+    private final String[] targetColumns;
+
+    CsvRecordProcessor(String[] targetColumns) {
+        this.targetColumns = targetColumns;
+    }
+
+    @Override
+    public void process(ByteBuffer source, int start, int end, ScratchBuffer scratch,
+                        BiFunction<String, String, String> transformer, RegionWriter out) throws IOException {
+        int column = 0;
+        int position = start;
+        while (true) {
+            int fieldStart = position;
+            int fieldEnd = fieldStart < end && source.get(fieldStart) == QUOTE
+                    ? quotedFieldEnd(source, fieldStart, end)
+                    : plainFieldEnd(source, fieldStart, end);
+
+            String target = column < targetColumns.length ? targetColumns[column] : null;
+            if (target != null && fieldEnd > fieldStart) {
+                String value = scratch.decode(source, fieldStart, fieldEnd);
+                writeField(transformer.apply(target, unquote(value)), out);
+            } else {
+                out.copy(source, fieldStart, fieldEnd);
+            }
+
+            if (fieldEnd >= end) {
+                return;
+            }
+            out.put(DELIMITER);
+            position = fieldEnd + 1;
+            column++;
+        }
+    }
+
+    /**
+     * 引号内的换行符不结束记录；转义的双引号 "" 连续切换两次引号状态，不影响判断
+     */
+    @Override
+    public int recordEnd(ByteBuffer source, int start, int end) {
+        boolean quoted = false;
+        int position = start;
+        while (position < end) {
+            byte b = source.get(position);
+            if (b == QUOTE) {
+                quoted = !quoted;
+            } else if (b == '\n' && !quoted) {
+                return position;
+            }
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * 解析CSV首行列名，支持带引号的列名
+     */
+    static String[] parseHeader(String line) {
+        List<String> names = new ArrayList<>();
+        StringBuilder name = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    name.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == ',' && !quoted) {
+                names.add(name.toString().trim());
+                name.setLength(0);
+            } else {
+                name.append(c);
+            }
+        }
+        names.add(name.toString().trim());
+        return names.toArray(new String[0]);
+    }
+
+    private int plainFieldEnd(ByteBuffer source, int position, int end) {
+        while (position < end && source.get(position) != DELIMITER) {
+            position++;
+        }
+        return position;
+    }
+
+    private int quotedFieldEnd(ByteBuffer source, int position, int end) {
+        position++;
+        while (position < end) {
+            if (source.get(position) == QUOTE) {
+                if (position + 1 < end && source.get(position + 1) == QUOTE) {
+                    position += 2;
+                    continue;
+                }
+                return plainFieldEnd(source, position + 1, end);
+            }
+            position++;
+        }
+        return end;
+    }
+
+    private String unquote(String value) {
+        if (value.length() >= 2 && value.charAt(0) == '"' && value.charAt(value.length() - 1) == '"') {
+            return value.substring(1, value.length() - 1).replace("\"\"", "\"");
+        }
+        return value;
+    }
+
+    private void writeField(String value, RegionWriter out) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean needsQuote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (needsQuote) {
+            value = "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        out.put(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
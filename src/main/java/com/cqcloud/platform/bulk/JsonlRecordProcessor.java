@@ -0,0 +1,209 @@
+package com.cqcloud.platform.bulk;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * JSON Lines记录处理器
+ * 按字节扫描顶层键值对，只有配置的字符串字段会被解码与转换，不构建JSON树；
+ * 嵌套对象、数组与非字符串值原样复制，无法识别的行整行原样输出
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+final class JsonlRecordProcessor implements RecordProcessor {
+
+    private final Set<String> targetFields;
+
+    JsonlRecordProcessor(Set<String> targetFields) {
+        this.targetFields = targetFields;
+    }
+
+    @Override
+    public void process(ByteBuffer source, int start, int end, ScratchBuffer scratch,
+                        BiFunction<String, String, String> transformer, RegionWriter out) throws IOException {
+        int position = skipWhitespace(source, start, end);
+        if (position >= end || source.get(position) != '{') {
+            out.copy(source, start, end);
+            return;
+        }
+        position++;
+        out.copy(source, start, position);
+
+        while (true) {
+            int keyStart = skipWhitespace(source, position, end);
+            if (keyStart >= end || source.get(keyStart) != '"') {
+                out.copy(source, position, end);
+                return;
+            }
+            int keyEnd = stringEnd(source, keyStart, end);
+            String key = unescape(scratch.decode(source, keyStart + 1, keyEnd - 1));
+
+            int valueStart = skipWhitespace(source, keyEnd, end);
+            if (valueStart >= end || source.get(valueStart) != ':') {
+                out.copy(source, position, end);
+                return;
+            }
+            valueStart = skipWhitespace(source, valueStart + 1, end);
+            if (valueStart >= end) {
+                out.copy(source, position, end);
+                return;
+            }
+
+            int valueEnd;
+            if (source.get(valueStart) == '"') {
+                valueEnd = stringEnd(source, valueStart, end);
+                if (targetFields.contains(key)) {
+                    out.copy(source, position, valueStart);
+                    String value = unescape(scratch.decode(source, valueStart + 1, valueEnd - 1));
+                    writeString(transformer.apply(key, value), out);
+                } else {
+                    out.copy(source, position, valueEnd);
+                }
+            } else {
+                valueEnd = valueEnd(source, valueStart, end);
+                out.copy(source, position, valueEnd);
+            }
+
+            position = skipWhitespace(source, valueEnd, end);
+            if (position >= end || source.get(position) != ',') {
+                out.copy(source, valueEnd, end);
+                return;
+            }
+            position++;
+            out.copy(source, valueEnd, position);
+        }
+    }
+
+    private int skipWhitespace(ByteBuffer source, int position, int end) {
+        while (position < end) {
+            byte b = source.get(position);
+            if (b != ' ' && b != '\t' && b != '\r' && b != '\n') {
+                break;
+            }
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * 返回字符串结束引号之后的位置
+     */
+    private int stringEnd(ByteBuffer source, int position, int end) {
+        position++;
+        while (position < end) {
+            byte b = source.get(position);
+            if (b == '\\') {
+                position += 2;
+                continue;
+            }
+            position++;
+            if (b == '"') {
+                return position;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * 跳过非字符串值（数字、字面量、嵌套对象或数组）
+     */
+    private int valueEnd(ByteBuffer source, int position, int end) {
+        int depth = 0;
+        while (position < end) {
+            byte b = source.get(position);
+            if (b == '"') {
+                position = stringEnd(source, position, end);
+                continue;
+            }
+            if (b == '{' || b == '[') {
+                depth++;
+            } else if (b == '}' || b == ']') {
+                if (depth == 0) {
+                    return position;
+                }
+                depth--;
+            } else if (b == ',' && depth == 0) {
+                return position;
+            }
+            position++;
+        }
+        return end;
+    }
+
+    private String unescape(String value) {
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c != '\\' || i + 1 >= value.length()) {
+                sb.append(c);
+                continue;
+            }
+            char next = value.charAt(++i);
+            switch (next) {
+                case 'b':
+                    sb.append('\b');
+                    break;
+                case 'f':
+                    sb.append('\f');
+                    break;
+                case 'n':
+                    sb.append('\n');
+                    break;
+                case 'r':
+                    sb.append('\r');
+                    break;
+                case 't':
+                    sb.append('\t');
+                    break;
+                case 'u':
+                    sb.append((char) Integer.parseInt(value.substring(i + 1, i + 5), 16));
+                    i += 4;
+                    break;
+                default:
+                    sb.append(next);
+            }
+        }
+        return sb.toString();
+    }
+
+    private void writeString(String value, RegionWriter out) throws IOException {
+        if (value == null) {
+            out.put("null".getBytes(StandardCharsets.US_ASCII));
+            return;
+        }
+        StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        out.put(sb.append('"').toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
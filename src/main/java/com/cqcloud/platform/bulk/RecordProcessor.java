@@ -0,0 +1,40 @@
+package com.cqcloud.platform.bulk;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.function.BiFunction;
+
+/**
+ * 单条记录处理器
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+interface RecordProcessor {
+
+    /**
+     * 处理一条记录（不含换行符），结果写入out
+     * @param source 映射缓冲区
+     * @param start 记录起始位置
+     * @param end 记录结束位置（不含）
+     * @param scratch 线程私有的临时字节数组，用于解码需要加解密的字段
+     * @param transformer 字段转换函数（列名, 原值） -> 新值
+     * @param out 输出
+     */
+    void process(ByteBuffer source, int start, int end, ScratchBuffer scratch,
+                 BiFunction<String, String, String> transformer, RegionWriter out) throws IOException;
+
+    /**
+     * 查找记录结束的换行符位置
+     * @param source 映射缓冲区
+     * @param start 记录起始位置
+     * @param end 区域结束位置（不含）
+     * @return 换行符位置，没有换行符时返回end
+     */
+    default int recordEnd(ByteBuffer source, int start, int end) {
+        int position = start;
+        while (position < end && source.get(position) != '\n') {
+            position++;
+        }
+        return position;
+    }
+}
@@ -0,0 +1,76 @@
+package com.cqcloud.platform.bulk;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * 区域输出缓冲
+ * 未加密的字节直接从映射缓冲区复制到直接缓冲区，不经过堆内存
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+final class RegionWriter {
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private long written;
+
+    RegionWriter(FileChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    /**
+     * 原样复制源缓冲区 [start, end) 的字节
+     */
+    void copy(ByteBuffer source, int start, int end) throws IOException {
+        int length = end - start;
+        if (length <= 0) {
+            return;
+        }
+        if (length > buffer.remaining()) {
+            flush();
+        }
+        if (length > buffer.capacity()) {
+            writeFully(source.slice(start, length));
+            return;
+        }
+        buffer.put(buffer.position(), source, start, length);
+        buffer.position(buffer.position() + length);
+    }
+
+    void put(byte b) throws IOException {
+        if (!buffer.hasRemaining()) {
+            flush();
+        }
+        buffer.put(b);
+    }
+
+    void put(byte[] bytes) throws IOException {
+        if (bytes.length > buffer.remaining()) {
+            flush();
+        }
+        if (bytes.length > buffer.capacity()) {
+            writeFully(ByteBuffer.wrap(bytes));
+            return;
+        }
+        buffer.put(bytes);
+    }
+
+    void flush() throws IOException {
+        buffer.flip();
+        writeFully(buffer);
+        buffer.clear();
+    }
+
+    long getWritten() {
+        return written;
+    }
+
+    private void writeFully(ByteBuffer source) throws IOException {
+        while (source.hasRemaining()) {
+            written += channel.write(source);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.cqcloud.platform.bulk;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 线程私有的解码缓冲区，只用于需要加解密的字段
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+final class ScratchBuffer {
+
+    private byte[] bytes = new byte[256];
+
+    /**
+     * 将源缓冲区 [start, end) 按UTF-8解码为字符串
+     */
+    String decode(ByteBuffer source, int start, int end) {
+        int length = end - start;
+        ensureCapacity(length);
+        source.get(start, bytes, 0, length);
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private void ensureCapacity(int length) {
+        if (bytes.length < length) {
+            bytes = new byte[Math.max(length, bytes.length * 2)];
+        }
+    }
+}
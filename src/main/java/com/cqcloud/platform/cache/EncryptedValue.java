@@ -0,0 +1,24 @@
+package com.cqcloud.platform.cache;
+
+import java.io.Serializable;
+
+/**
+ * 缓存中的加密值：序列化后的值经加密上下文加密得到的 IV + 密文
+ * 作为独立类型存入底层缓存，便于与启用加密前写入的明文值区分
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+final class EncryptedValue implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final byte[] data;
+
+    EncryptedValue(byte[] data) {
+        this.data = data;
+    }
+
+    byte[] getData() {
+        return data;
+    }
+}
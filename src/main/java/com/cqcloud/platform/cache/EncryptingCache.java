@@ -0,0 +1,287 @@
+package com.cqcloud.platform.cache;
+
+import com.cqcloud.platform.enums.AlgorithmType;
+import com.cqcloud.platform.exception.DecryptException;
+import com.cqcloud.platform.exception.EncryptException;
+import com.cqcloud.platform.manager.EncryptionManager;
+import com.cqcloud.platform.strategy.CipherContext;
+import com.cqcloud.platform.tenant.TenantContextHolder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.core.serializer.support.SerializationDelegate;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 加密缓存装饰器
+ * 写入底层缓存前将值序列化并加密为二进制信封（{@link EncryptedValue}），读取时解密，
+ * 堆上的缓存不再长期保存明文；可选的明文热点层按读取填充、短时过期，以有界的明文暴露换取热点数据免重复解密，
+ * 热点层按 缓存键 -> 租户 -> 明文 组织，租户之间不共享解密后的明文，写入或淘汰一个键时一次移除所有租户的明文；
+ * 启用前写入的未加密值原样返回，无法解密的过期条目（如密钥轮换后）被淘汰并按未命中处理
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+@Slf4j
+public class EncryptingCache implements Cache {
+
+    /**
+     * 没有当前租户时热点层使用的租户键
+     */
+    private static final String NO_TENANT = "\u0000";
+
+    /**
+     * 底层缓存中的条目无法解密、已被淘汰
+     */
+    private static final Object STALE = new Object();
+
+    private final Cache delegate;
+    private final EncryptionManager encryptionManager;
+    private final String keyId;
+    private final AlgorithmType algorithm;
+    private final SerializationDelegate serialization;
+    private final com.google.common.cache.Cache<Object, Map<String, Object>> hotTier;
+
+    /**
+     * @param delegate 底层缓存
+     * @param encryptionManager 加密管理器
+     * @param keyId 密钥ID，为null时使用默认密钥
+     * @param hotTierSize 明文热点层最多缓存的键数量，0表示不启用
+     * @param hotTierTtlMillis 明文热点层过期时间（毫秒）
+     * @param classLoader 反序列化缓存值使用的类加载器
+     */
+    public EncryptingCache(Cache delegate, EncryptionManager encryptionManager, String keyId,
+                           long hotTierSize, long hotTierTtlMillis, ClassLoader classLoader) {
+        this.delegate = delegate;
+        this.encryptionManager = encryptionManager;
+        this.keyId = keyId != null ? keyId : encryptionManager.getDefaultKeyId();
+        this.algorithm = encryptionManager.getDefaultAlgorithm();
+        this.serialization = new SerializationDelegate(classLoader);
+        this.hotTier = hotTierSize > 0
+                ? com.google.common.cache.CacheBuilder.newBuilder()
+                        .maximumSize(hotTierSize)
+                        .expireAfterWrite(hotTierTtlMillis, TimeUnit.MILLISECONDS)
+                        .build()
+                : null;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Object hot = hot(key);
+        if (hot != null) {
+            return new SimpleValueWrapper(hot);
+        }
+        ValueWrapper wrapper = delegate.get(key);
+        if (wrapper == null) {
+            return null;
+        }
+        Object value = decryptOrEvict(key, wrapper.get());
+        if (value == STALE) {
+            return null;
+        }
+        remember(key, value);
+        return new SimpleValueWrapper(value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("缓存值不是所需类型 [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object hot = hot(key);
+        if (hot != null) {
+            return (T) hot;
+        }
+        Object value = decryptOrEvict(key, delegate.get(key, () -> encrypt(valueLoader.call())));
+        if (value == STALE) {
+            value = decrypt(delegate.get(key, () -> encrypt(valueLoader.call())));
+        }
+        remember(key, value);
+        return (T) value;
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        CompletableFuture<?> stored = delegate.retrieve(key);
+        return stored == null ? null : stored.thenApply(result -> {
+            // 允许缓存null时底层缓存以ValueWrapper包装存储值
+            boolean wrapped = result instanceof ValueWrapper;
+            Object value = decryptOrEvict(key, wrapped ? ((ValueWrapper) result).get() : result);
+            if (value == STALE) {
+                return null;
+            }
+            remember(key, value);
+            return wrapped ? new SimpleValueWrapper(value) : value;
+        });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return delegate.retrieve(key, () -> valueLoader.get().thenApply(this::encrypt))
+                .thenCompose(stored -> {
+                    Object value = decryptOrEvict(key, stored);
+                    if (value != STALE) {
+                        remember(key, value);
+                        return CompletableFuture.completedFuture((T) value);
+                    }
+                    return delegate.retrieve(key, () -> valueLoader.get().thenApply(this::encrypt))
+                            .thenApply(reloaded -> {
+                                T reloadedValue = (T) decrypt(reloaded);
+                                remember(key, reloadedValue);
+                                return reloadedValue;
+                            });
+                });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        invalidateHot(key);
+        delegate.put(key, encrypt(value));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        invalidateHot(key);
+        Object encrypted = encrypt(value);
+        ValueWrapper existing = delegate.putIfAbsent(key, encrypted);
+        if (existing == null) {
+            return null;
+        }
+        Object current = decryptOrEvict(key, existing.get());
+        if (current == STALE) {
+            delegate.put(key, encrypted);
+            return null;
+        }
+        return new SimpleValueWrapper(current);
+    }
+
+    @Override
+    public void evict(Object key) {
+        invalidateHot(key);
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        invalidateHot(key);
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        invalidateHotAll();
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        invalidateHotAll();
+        return delegate.invalidate();
+    }
+
+    private Object encrypt(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return new EncryptedValue(cipherContext().encrypt(serialization.serializeToByteArray(value)));
+        } catch (Exception e) {
+            throw new EncryptException("缓存值加密失败: " + getName(), e);
+        }
+    }
+
+    private Object decrypt(Object stored) {
+        if (!(stored instanceof EncryptedValue)) {
+            return stored;
+        }
+        // 获取上下文失败（如缺少租户）不是条目本身的问题，不包装为DecryptException，避免误淘汰
+        CipherContext context = cipherContext();
+        try {
+            return serialization.deserializeFromByteArray(context.decrypt(((EncryptedValue) stored).getData()));
+        } catch (Exception e) {
+            throw new DecryptException("缓存值解密失败: " + getName(), e);
+        }
+    }
+
+    /**
+     * 解密底层缓存的值；密钥轮换、类结构变化等导致无法解密的过期条目从底层缓存淘汰，按未命中处理
+     * @return 解密后的值，条目已淘汰时返回 {@link #STALE}
+     */
+    private Object decryptOrEvict(Object key, Object stored) {
+        try {
+            return decrypt(stored);
+        } catch (DecryptException e) {
+            log.warn("缓存值无法解密，淘汰后按未命中处理: cache={}, {}", getName(), e.getCause() != null
+                    ? e.getCause().toString() : e.getMessage());
+            invalidateHot(key);
+            delegate.evict(key);
+            return STALE;
+        }
+    }
+
+    /**
+     * 上下文由加密管理器创建并缓存，密钥轮换后自动使用新的上下文
+     */
+    private CipherContext cipherContext() {
+        return encryptionManager.getCipherContext(keyId, algorithm);
+    }
+
+    private Object hot(Object key) {
+        if (hotTier == null) {
+            return null;
+        }
+        Map<String, Object> tenants = hotTier.getIfPresent(key);
+        return tenants != null ? tenants.get(currentTenant()) : null;
+    }
+
+    private void remember(Object key, Object value) {
+        if (hotTier != null && value != null) {
+            hotTier.asMap().computeIfAbsent(key, k -> new ConcurrentHashMap<>(4)).put(currentTenant(), value);
+        }
+    }
+
+    /**
+     * 底层缓存在租户之间共享同一个键，淘汰所有租户在热点层中的该键
+     */
+    private void invalidateHot(Object key) {
+        if (hotTier != null) {
+            hotTier.invalidate(key);
+        }
+    }
+
+    private void invalidateHotAll() {
+        if (hotTier != null) {
+            hotTier.invalidateAll();
+        }
+    }
+
+    private static String currentTenant() {
+        String tenantId = TenantContextHolder.getTenantId();
+        return tenantId != null ? tenantId : NO_TENANT;
+    }
+}
@@ -0,0 +1,68 @@
+package com.cqcloud.platform.cache;
+
+import com.cqcloud.platform.manager.EncryptionManager;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 加密缓存管理器装饰器
+ * 按缓存名称返回 {@link EncryptingCache}，未在加密名单中的缓存原样返回
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+public class EncryptingCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final EncryptionManager encryptionManager;
+    private final Set<String> cacheNames;
+    private final String keyId;
+    private final long hotTierSize;
+    private final long hotTierTtlMillis;
+    private final ClassLoader classLoader;
+    private final Map<Cache, EncryptingCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * @param delegate 底层缓存管理器
+     * @param encryptionManager 加密管理器
+     * @param cacheNames 需要加密的缓存名称，为空时加密全部缓存
+     * @param keyId 密钥ID，为null时使用默认密钥
+     * @param hotTierSize 每个缓存的明文热点层大小，0表示不启用
+     * @param hotTierTtlMillis 明文热点层过期时间（毫秒）
+     * @param classLoader 反序列化缓存值使用的类加载器
+     */
+    public EncryptingCacheManager(CacheManager delegate, EncryptionManager encryptionManager, Set<String> cacheNames,
+                                  String keyId, long hotTierSize, long hotTierTtlMillis, ClassLoader classLoader) {
+        this.delegate = delegate;
+        this.encryptionManager = encryptionManager;
+        this.cacheNames = cacheNames;
+        this.keyId = keyId;
+        this.hotTierSize = hotTierSize;
+        this.hotTierTtlMillis = hotTierTtlMillis;
+        this.classLoader = classLoader;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = delegate.getCache(name);
+        if (cache == null || (!cacheNames.isEmpty() && !cacheNames.contains(name))) {
+            return cache;
+        }
+        // 以底层缓存实例为键，底层缓存被重建时同步创建新的装饰器
+        return caches.computeIfAbsent(cache, key -> new EncryptingCache(key, encryptionManager, keyId,
+                hotTierSize, hotTierTtlMillis, classLoader));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    public CacheManager getDelegate() {
+        return delegate;
+    }
+}
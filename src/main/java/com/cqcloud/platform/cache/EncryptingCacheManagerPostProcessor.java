@@ -0,0 +1,70 @@
+package com.cqcloud.platform.cache;
+
+import com.cqcloud.platform.config.EncryptionProperties;
+import com.cqcloud.platform.manager.EncryptionManager;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.BeanClassLoaderAware;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cache.CacheManager;
+
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+
+/**
+ * 加密缓存管理器后置处理器
+ * 为容器中的 CacheManager 创建基于类的代理，拦截 {@code getCache} 并交给 {@link EncryptingCacheManager}，
+ * Bean保持原有类型（如按 {@code RedisCacheManager} 注入仍然可用）；类为final或已是JDK代理时退化为直接替换为 {@link EncryptingCacheManager}。
+ * 加密管理器与配置在包装时才获取，避免过早创建。
+ * 注意：{@code getCache} 返回的是 {@link EncryptingCache}，Spring Boot的缓存指标绑定器按缓存实现类型识别，无法为被加密的缓存注册指标
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+@Slf4j
+public class EncryptingCacheManagerPostProcessor implements BeanPostProcessor, BeanClassLoaderAware {
+
+    private final ObjectProvider<EncryptionManager> encryptionManager;
+    private final ObjectProvider<EncryptionProperties> properties;
+    private ClassLoader classLoader;
+
+    public EncryptingCacheManagerPostProcessor(ObjectProvider<EncryptionManager> encryptionManager,
+                                               ObjectProvider<EncryptionProperties> properties) {
+        this.encryptionManager = encryptionManager;
+        this.properties = properties;
+    }
+
+    @Override
+    public void setBeanClassLoader(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof CacheManager) || bean instanceof EncryptingCacheManager) {
+            return bean;
+        }
+        EncryptionProperties encryptionProperties = properties.getObject();
+        log.info("包装加密缓存管理器: {}, 明文热点层大小: {}", beanName, encryptionProperties.getCacheEncryptionHotTierSize());
+        EncryptingCacheManager encrypting = new EncryptingCacheManager((CacheManager) bean,
+                encryptionManager.getObject(), encryptionProperties.getCacheEncryptionNames(),
+                encryptionProperties.getCacheEncryptionKeyId(), encryptionProperties.getCacheEncryptionHotTierSize(),
+                encryptionProperties.getCacheEncryptionHotTierTtlMillis(), classLoader);
+        Class<?> type = bean.getClass();
+        if (Modifier.isFinal(type.getModifiers()) || Proxy.isProxyClass(type)) {
+            log.warn("缓存管理器 {} 无法创建基于类的代理，Bean类型变为 EncryptingCacheManager: {}", beanName, type.getName());
+            return encrypting;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+            Object[] args = invocation.getArguments();
+            if ("getCache".equals(invocation.getMethod().getName()) && args.length == 1 && args[0] instanceof String) {
+                return encrypting.getCache((String) args[0]);
+            }
+            return invocation.proceed();
+        });
+        return proxyFactory.getProxy(classLoader);
+    }
+}
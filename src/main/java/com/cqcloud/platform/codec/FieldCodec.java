@@ -0,0 +1,27 @@
+package com.cqcloud.platform.codec;
+
+/**
+ * 字段值编解码器
+ * 加密前将类型化的字段值编码为紧凑的二进制，解密后再还原，不经过 toString/parse 往返
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+public interface FieldCodec<T> {
+
+    /**
+     * 编码字段值
+     */
+    byte[] encode(T value);
+
+    /**
+     * 解码字段值
+     */
+    T decode(byte[] data);
+
+    /**
+     * 解析未加密的历史文本值，默认不支持
+     */
+    default T parse(String text) {
+        throw new UnsupportedOperationException("不支持解析未加密的文本值: " + getClass().getSimpleName());
+    }
+}
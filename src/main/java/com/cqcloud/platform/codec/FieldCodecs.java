@@ -0,0 +1,205 @@
+package com.cqcloud.platform.codec;
+
+import org.springframework.util.ClassUtils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 字段编解码器注册表
+ * 按 {@code @Encrypted.format} 或字段类型选择编解码器，应在构建字段元数据时解析一次并随元数据缓存；
+ * 内置：String(UTF-8)、Long/Integer(定长大端)、LocalDate(纪元日，8字节)、LocalDateTime(秒8字节+纳秒4字节)、
+ * BigDecimal(标度4字节+非标度值补码)、byte[](原样，未加密的历史值按Base64文本解析)，以及 format = "json" 的JSON编解码器（需要Jackson）
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+public final class FieldCodecs {
+
+    /**
+     * JSON格式名称
+     */
+    public static final String JSON = "json";
+
+    private static final Map<Class<?>, FieldCodec<?>> BY_TYPE = new ConcurrentHashMap<>();
+    private static final Map<String, Function<Class<?>, FieldCodec<?>>> BY_FORMAT = new ConcurrentHashMap<>();
+
+    static {
+        register(String.class, new FieldCodec<String>() {
+            @Override
+            public byte[] encode(String value) {
+                return value.getBytes(StandardCharsets.UTF_8);
+            }
+
+            @Override
+            public String decode(byte[] data) {
+                return new String(data, StandardCharsets.UTF_8);
+            }
+
+            @Override
+            public String parse(String text) {
+                return text;
+            }
+        });
+        register(Long.class, new FieldCodec<Long>() {
+            @Override
+            public byte[] encode(Long value) {
+                return ByteBuffer.allocate(Long.BYTES).putLong(value).array();
+            }
+
+            @Override
+            public Long decode(byte[] data) {
+                return ByteBuffer.wrap(data).getLong();
+            }
+
+            @Override
+            public Long parse(String text) {
+                return Long.valueOf(text.trim());
+            }
+        });
+        register(Integer.class, new FieldCodec<Integer>() {
+            @Override
+            public byte[] encode(Integer value) {
+                return ByteBuffer.allocate(Integer.BYTES).putInt(value).array();
+            }
+
+            @Override
+            public Integer decode(byte[] data) {
+                return ByteBuffer.wrap(data).getInt();
+            }
+
+            @Override
+            public Integer parse(String text) {
+                return Integer.valueOf(text.trim());
+            }
+        });
+        register(LocalDate.class, new FieldCodec<LocalDate>() {
+            @Override
+            public byte[] encode(LocalDate value) {
+                return ByteBuffer.allocate(Long.BYTES).putLong(value.toEpochDay()).array();
+            }
+
+            @Override
+            public LocalDate decode(byte[] data) {
+                return LocalDate.ofEpochDay(ByteBuffer.wrap(data).getLong());
+            }
+
+            @Override
+            public LocalDate parse(String text) {
+                return LocalDate.parse(text.trim());
+            }
+        });
+        register(LocalDateTime.class, new FieldCodec<LocalDateTime>() {
+            @Override
+            public byte[] encode(LocalDateTime value) {
+                return ByteBuffer.allocate(Long.BYTES + Integer.BYTES)
+                        .putLong(value.toEpochSecond(ZoneOffset.UTC))
+                        .putInt(value.getNano())
+                        .array();
+            }
+
+            @Override
+            public LocalDateTime decode(byte[] data) {
+                ByteBuffer buffer = ByteBuffer.wrap(data);
+                return LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+            }
+
+            @Override
+            public LocalDateTime parse(String text) {
+                return LocalDateTime.parse(text.trim().replace(' ', 'T'));
+            }
+        });
+        register(BigDecimal.class, new FieldCodec<BigDecimal>() {
+            @Override
+            public byte[] encode(BigDecimal value) {
+                byte[] unscaled = value.unscaledValue().toByteArray();
+                return ByteBuffer.allocate(Integer.BYTES + unscaled.length)
+                        .putInt(value.scale())
+                        .put(unscaled)
+                        .array();
+            }
+
+            @Override
+            public BigDecimal decode(byte[] data) {
+                int scale = ByteBuffer.wrap(data).getInt();
+                return new BigDecimal(new BigInteger(Arrays.copyOfRange(data, Integer.BYTES, data.length)), scale);
+            }
+
+            @Override
+            public BigDecimal parse(String text) {
+                return new BigDecimal(text.trim());
+            }
+        });
+        register(byte[].class, new FieldCodec<byte[]>() {
+            @Override
+            public byte[] encode(byte[] value) {
+                return value;
+            }
+
+            @Override
+            public byte[] decode(byte[] data) {
+                return data;
+            }
+
+            @Override
+            public byte[] parse(String text) {
+                try {
+                    return Base64.getDecoder().decode(text.trim());
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("未加密的二进制历史值不是Base64文本，需先迁移该列", e);
+                }
+            }
+        });
+        if (ClassUtils.isPresent("com.fasterxml.jackson.databind.ObjectMapper", FieldCodecs.class.getClassLoader())) {
+            registerFormat(JSON, JsonFieldCodec::new);
+        }
+    }
+
+    private FieldCodecs() {
+    }
+
+    /**
+     * 注册类型编解码器，基本类型同时注册对应的包装类型
+     */
+    public static <T> void register(Class<T> type, FieldCodec<T> codec) {
+        BY_TYPE.put(ClassUtils.resolvePrimitiveIfNecessary(type), codec);
+    }
+
+    /**
+     * 注册格式编解码器工厂，工厂按字段类型创建编解码器
+     */
+    public static void registerFormat(String format, Function<Class<?>, FieldCodec<?>> factory) {
+        BY_FORMAT.put(format, factory);
+    }
+
+    /**
+     * 解析字段的编解码器
+     * @param type 字段类型
+     * @param format 字段格式（{@code @Encrypted.format}），为空时按类型选择
+     * @throws IllegalArgumentException 没有匹配的编解码器
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> FieldCodec<T> resolve(Class<T> type, String format) {
+        if (format != null && !format.isEmpty()) {
+            Function<Class<?>, FieldCodec<?>> factory = BY_FORMAT.get(format);
+            if (factory == null) {
+                throw new IllegalArgumentException("未注册的字段格式: " + format);
+            }
+            return (FieldCodec<T>) factory.apply(type);
+        }
+        FieldCodec<?> codec = BY_TYPE.get(ClassUtils.resolvePrimitiveIfNecessary(type));
+        if (codec == null) {
+            throw new IllegalArgumentException("不支持加密的字段类型: " + type.getName() + "，请注册FieldCodec或指定format");
+        }
+        return (FieldCodec<T>) codec;
+    }
+}
@@ -0,0 +1,54 @@
+package com.cqcloud.platform.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * JSON字段编解码器
+ * 对象直接序列化为UTF-8字节、从字节反序列化，不经过中间字符串；读写器按字段类型预先创建
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+class JsonFieldCodec implements FieldCodec<Object> {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().findAndRegisterModules();
+
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+
+    JsonFieldCodec(Class<?> type) {
+        this.writer = OBJECT_MAPPER.writerFor(type);
+        this.reader = OBJECT_MAPPER.readerFor(type);
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        try {
+            return writer.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Object decode(byte[] data) {
+        try {
+            return reader.readValue(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Object parse(String text) {
+        try {
+            return reader.readValue(text);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,13 +1,23 @@
 package com.cqcloud.platform.config;
 
+import com.cqcloud.platform.bulk.BulkFileEncryptor;
+import com.cqcloud.platform.cache.EncryptingCacheManagerPostProcessor;
+import com.cqcloud.platform.jdbc.EncryptingDataSourcePostProcessor;
+import com.cqcloud.platform.jpa.EncryptedAttributeConverter;
 import com.cqcloud.platform.manager.EncryptionManager;
 import com.cqcloud.platform.manager.impl.AesEncryptionManager;
+import com.cqcloud.platform.strategy.CipherProviders;
+import com.cqcloud.platform.tenant.TenantKeyResolver;
+import com.cqcloud.platform.warmup.EncryptionWarmup;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 
 /**
  * 加密自动配置类
@@ -22,8 +32,75 @@ public class EncryptionAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public EncryptionManager encryptionManager(EncryptionProperties properties) {
+    public EncryptionManager encryptionManager(EncryptionProperties properties,
+                                               ObjectProvider<TenantKeyResolver> tenantKeyResolver) {
         log.info("初始化加密管理器，默认算法: {}", properties.getDefaultAlgorithm());
-        return new AesEncryptionManager(properties);
+        CipherProviders.configure(properties.getProviders(), properties.isProviderBenchmarkEnabled());
+        AesEncryptionManager encryptionManager = new AesEncryptionManager(properties);
+        tenantKeyResolver.ifAvailable(resolver -> {
+            log.info("启用租户密钥隔离，租户上下文缓存大小: {}", properties.getTenantContextCacheSize());
+            encryptionManager.setTenantKeyResolver(resolver);
+        });
+        return encryptionManager;
     }
-}
\ No newline at end of file
+
+    @Bean
+    @ConditionalOnMissingBean
+    public BulkFileEncryptor bulkFileEncryptor(EncryptionManager encryptionManager, EncryptionProperties properties) {
+        return new BulkFileEncryptor(encryptionManager, properties.getBulkParallelism(), properties.getBulkRegionSize());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "spring.encryption", name = "warmup-enabled", havingValue = "true")
+    public EncryptionWarmup encryptionWarmup(EncryptionManager encryptionManager, EncryptionProperties properties,
+                                             ObjectProvider<TenantKeyResolver> tenantKeyResolver) {
+        return new EncryptionWarmup(encryptionManager, properties,
+                tenantKeyResolver.getIfAvailable() != null && !properties.isTenantSharedKeyFallback());
+    }
+
+    /**
+     * Spring Cache值加密
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "spring.encryption", name = "cache-encryption-enabled", havingValue = "true")
+    public static EncryptingCacheManagerPostProcessor encryptingCacheManagerPostProcessor(
+            ObjectProvider<EncryptionManager> encryptionManager, ObjectProvider<EncryptionProperties> properties) {
+        return new EncryptingCacheManagerPostProcessor(encryptionManager, properties);
+    }
+
+    /**
+     * 按列规则透明加解密的数据源代理
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnClass(name = "javax.sql.DataSource")
+    @ConditionalOnProperty(prefix = "spring.encryption", name = "data-source-proxy-enabled", havingValue = "true")
+    public static EncryptingDataSourcePostProcessor encryptingDataSourcePostProcessor(
+            ObjectProvider<EncryptionManager> encryptionManager, ObjectProvider<EncryptionProperties> properties) {
+        return new EncryptingDataSourcePostProcessor(encryptionManager, properties);
+    }
+
+    /**
+     * JPA加密属性转换器配置
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "jakarta.persistence.AttributeConverter")
+    @ConditionalOnProperty(prefix = "spring.encryption", name = "jpa-enabled", havingValue = "true", matchIfMissing = true)
+    static class JpaEncryptionConfig {
+
+        /**
+         * 为JPA实现反射创建的转换器绑定加密管理器
+         */
+        @Bean
+        public Object encryptedAttributeConverterInitializer(EncryptionManager encryptionManager,
+                                                             EncryptionProperties properties) {
+            log.info("初始化JPA加密属性转换器，解密缓存大小: {}", properties.getJpaDecryptMemoSize());
+            EncryptedAttributeConverter.setDefaultEncryptionManager(encryptionManager);
+            EncryptedAttributeConverter.setDecryptMemo(properties.getJpaDecryptMemoSize(),
+                    properties.getCacheExpireSeconds());
+            return new Object();
+        }
+    }
+}
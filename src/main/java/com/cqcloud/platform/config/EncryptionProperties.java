@@ -4,7 +4,11 @@ import com.cqcloud.platform.enums.AlgorithmType;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -31,6 +35,16 @@ public class EncryptionProperties {
      */
     private String defaultKey;
 
+    /**
+     * 指定算法使用的加密Provider（如 AES_GCM: BC），未指定的算法自动选择
+     */
+    private Map<AlgorithmType, String> providers = new EnumMap<>(AlgorithmType.class);
+
+    /**
+     * 是否在启动时通过基准测试为每种算法选择最快的Provider，关闭时优先使用SunJCE
+     */
+    private boolean providerBenchmarkEnabled = false;
+
     /**
      * 密钥配置映射
      */
@@ -56,6 +70,37 @@ public class EncryptionProperties {
      */
     private boolean mybatisPlusEnabled = true;
 
+    /**
+     * 是否在参数绑定时加密（绑定后还原实体明文），关闭时在执行前原地加密实体
+     */
+    private boolean bindingEncryptionEnabled = true;
+
+    /**
+     * 是否在读取结果集时按列解密（实体只含字符串加密字段的查询），关闭时在实体创建后通过反射解密；
+     * 按列解密不记录脏检查状态，与 dirtyTrackingEnabled 同时开启时按列解密不生效
+     */
+    private boolean resultSetDecryptionEnabled = false;
+
+    /**
+     * 是否启用加密字段脏检查，更新时明文未变化的字段复用查询时的原密文（开启后 resultSetDecryptionEnabled 不生效）
+     */
+    private boolean dirtyTrackingEnabled = false;
+
+    /**
+     * 脏检查最多跟踪的实体数量
+     */
+    private long dirtyTrackingMaxSize = 10000;
+
+    /**
+     * 是否在启动完成、报告就绪前预热加密上下文与实体加密元数据
+     */
+    private boolean warmupEnabled = false;
+
+    /**
+     * 预热时每个密钥与算法组合执行的加解密次数
+     */
+    private int warmupIterations = 5000;
+
     /**
      * 是否打印加解密日志
      */
@@ -76,6 +121,142 @@ public class EncryptionProperties {
      */
     private long cacheExpireSeconds = 300;
 
+    /**
+     * 是否加密Spring Cache中的缓存值（包装容器中的CacheManager）
+     */
+    private boolean cacheEncryptionEnabled = false;
+
+    /**
+     * 需要加密的Spring Cache名称，为空时加密全部缓存
+     */
+    private Set<String> cacheEncryptionNames = new HashSet<>();
+
+    /**
+     * Spring Cache值加密使用的密钥ID，未指定时使用默认密钥
+     */
+    private String cacheEncryptionKeyId;
+
+    /**
+     * Spring Cache明文热点层大小（每个缓存），0表示不启用
+     */
+    private long cacheEncryptionHotTierSize = 0;
+
+    /**
+     * Spring Cache明文热点层过期时间（毫秒）
+     */
+    private long cacheEncryptionHotTierTtlMillis = 1000;
+
+    /**
+     * 批量加密并行处理阈值，批量大小达到该值时分块并行加密（0表示不并行）
+     */
+    private int batchParallelThreshold = 0;
+
+    /**
+     * 是否启用JPA加密属性转换器
+     */
+    private boolean jpaEnabled = true;
+
+    /**
+     * JPA转换器解密结果缓存大小（按密文缓存，0表示不缓存），过期时间与 cacheExpireSeconds 一致
+     */
+    private long jpaDecryptMemoSize = 1024;
+
+    /**
+     * 是否启用 @EncryptedBody 接口的JSON字段加解密
+     */
+    private boolean webEnabled = true;
+
+    /**
+     * 是否代理DataSource，按列规则透明加解密（适用于JdbcTemplate等无法使用注解的访问方式）
+     */
+    private boolean dataSourceProxyEnabled = false;
+
+    /**
+     * DataSource代理的加密列规则
+     */
+    private List<ColumnConfig> dataSourceColumns = new ArrayList<>();
+
+    /**
+     * DataSource代理缓存的已解析SQL数量
+     */
+    private long dataSourceSqlCacheSize = 2048;
+
+    /**
+     * DataSource代理遇到写入加密表、但无法确定加密列参数的语句时是否只告警并以明文执行，默认拒绝执行
+     */
+    private boolean dataSourceUnmappedWriteWarnOnly = false;
+
+    /**
+     * 租户加密上下文缓存的最大数量（租户 × 密钥 × 算法），存在 TenantKeyResolver Bean 时生效
+     */
+    private long tenantContextCacheSize = 10000;
+
+    /**
+     * 租户加密上下文未被访问多久后淘汰（秒）
+     */
+    private long tenantContextIdleSeconds = 1800;
+
+    /**
+     * 存在 TenantKeyResolver Bean 时，没有当前租户的加解密是否回退到共享密钥，默认拒绝
+     */
+    private boolean tenantSharedKeyFallback = false;
+
+    /**
+     * 是否启用R2DBC实体回调自动加解密
+     */
+    private boolean r2dbcEnabled = true;
+
+    /**
+     * 响应式批量加解密调度器最大线程数
+     */
+    private int reactiveMaxThreads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * 响应式批量加解密调度器最大排队任务数
+     */
+    private int reactiveMaxQueuedTasks = 10000;
+
+    /**
+     * 流式加密分段大小（字节），最大16MB
+     */
+    private int streamSegmentSize = 64 * 1024;
+
+    /**
+     * 批量文件加解密并行度
+     */
+    private int bulkParallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * 批量文件加解密单个映射区域大小（字节）
+     */
+    private int bulkRegionSize = 64 * 1024 * 1024;
+
+    /**
+     * 加密列配置类
+     */
+    @Data
+    public static class ColumnConfig {
+        /**
+         * 表名
+         */
+        private String table;
+
+        /**
+         * 列名
+         */
+        private String column;
+
+        /**
+         * 密钥ID，未指定时使用默认密钥
+         */
+        private String keyId;
+
+        /**
+         * 加密算法，未指定时使用默认算法
+         */
+        private AlgorithmType algorithm;
+    }
+
     /**
      * 密钥配置类
      */
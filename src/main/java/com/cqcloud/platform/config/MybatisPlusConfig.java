@@ -1,11 +1,16 @@
 package com.cqcloud.platform.config;
 
+import com.cqcloud.platform.handler.AbstractEncryptedTypeHandler;
+import com.cqcloud.platform.handler.LazyDecryptedTypeHandler;
 import com.cqcloud.platform.interceptor.MybatisPlusInterceptorWrapper;
+import com.cqcloud.platform.lazy.LazyDecrypted;
 import com.cqcloud.platform.manager.EncryptionManager;
+import com.cqcloud.platform.warmup.MybatisPlusWarmup;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.ibatis.plugin.Interceptor;
 import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -30,12 +35,13 @@ import java.util.List;
 public class MybatisPlusConfig {
 
     private final EncryptionManager encryptionManager;
+    private final EncryptionProperties encryptionProperties;
 
     @Bean
     @ConditionalOnMissingBean
     public MybatisPlusInterceptorWrapper mybatisPlusEncryptionInterceptor() {
         log.info("初始化MyBatis-Plus加密拦截器");
-        return new MybatisPlusInterceptorWrapper(encryptionManager);
+        return new MybatisPlusInterceptorWrapper(encryptionManager, encryptionProperties);
     }
 
     /**
@@ -49,12 +55,20 @@ public class MybatisPlusConfig {
             return null;
         }
 
+        // 供@TableField(typeHandler = ...)反射创建的加密类型处理器使用
+        AbstractEncryptedTypeHandler.setDefaultEncryptionManager(encryptionManager);
+
         Interceptor interceptor = mybatisPlusEncryptionInterceptor();
         for (SqlSessionFactory sqlSessionFactory : sqlSessionFactories) {
             try {
                 org.apache.ibatis.session.Configuration configuration =
                         sqlSessionFactory.getConfiguration();
 
+                // 注册延迟解密类型处理器
+                if (!configuration.getTypeHandlerRegistry().hasTypeHandler(LazyDecrypted.class)) {
+                    configuration.getTypeHandlerRegistry().register(LazyDecrypted.class, new LazyDecryptedTypeHandler());
+                }
+
                 // 检查是否已经注册过该拦截器
                 boolean alreadyRegistered = configuration.getInterceptors()
                         .stream()
@@ -76,4 +90,22 @@ public class MybatisPlusConfig {
 
         return new Object();
     }
+
+    /**
+     * 启动校验：全部单例（含Mapper与实体表信息）创建后，非字符串加密字段必须配置加密类型处理器，否则启动失败
+     */
+    @Bean
+    public SmartInitializingSingleton encryptedTypedFieldValidator() {
+        return () -> mybatisPlusEncryptionInterceptor().validateTypedFields();
+    }
+
+    /**
+     * 启动预热：预先构建实体加密字段与语句加解密计划
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "spring.encryption", name = "warmup-enabled", havingValue = "true")
+    public MybatisPlusWarmup mybatisPlusWarmup(List<SqlSessionFactory> sqlSessionFactories) {
+        return new MybatisPlusWarmup(mybatisPlusEncryptionInterceptor(), sqlSessionFactories);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.cqcloud.platform.config;
+
+import com.cqcloud.platform.manager.EncryptionManager;
+import com.cqcloud.platform.manager.ReactiveEncryptionManager;
+import com.cqcloud.platform.manager.impl.DefaultReactiveEncryptionManager;
+import com.cqcloud.platform.r2dbc.DecryptionAfterConvertCallback;
+import com.cqcloud.platform.r2dbc.EncryptionBeforeConvertCallback;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.r2dbc.mapping.event.BeforeConvertCallback;
+import reactor.core.publisher.Mono;
+
+/**
+ * 响应式加密配置
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+@Slf4j
+@AutoConfiguration(after = EncryptionAutoConfiguration.class)
+@ConditionalOnClass(Mono.class)
+@ConditionalOnBean(EncryptionManager.class)
+public class ReactiveEncryptionConfig {
+
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnMissingBean
+    public ReactiveEncryptionManager reactiveEncryptionManager(EncryptionManager encryptionManager,
+                                                               EncryptionProperties properties) {
+        log.info("初始化响应式加密管理器，最大线程数: {}, 最大排队任务数: {}",
+                properties.getReactiveMaxThreads(), properties.getReactiveMaxQueuedTasks());
+        return new DefaultReactiveEncryptionManager(encryptionManager, properties);
+    }
+
+    /**
+     * R2DBC实体回调配置
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(BeforeConvertCallback.class)
+    @ConditionalOnProperty(prefix = "spring.encryption", name = "r2dbc-enabled", havingValue = "true", matchIfMissing = true)
+    static class R2dbcEncryptionConfig {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public EncryptionBeforeConvertCallback encryptionBeforeConvertCallback(
+                ReactiveEncryptionManager reactiveEncryptionManager) {
+            log.info("初始化R2DBC加密回调");
+            return new EncryptionBeforeConvertCallback(reactiveEncryptionManager);
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public DecryptionAfterConvertCallback decryptionAfterConvertCallback(
+                ReactiveEncryptionManager reactiveEncryptionManager) {
+            log.info("初始化R2DBC解密回调");
+            return new DecryptionAfterConvertCallback(reactiveEncryptionManager);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.cqcloud.platform.config;
+
+import com.cqcloud.platform.manager.EncryptionManager;
+import com.cqcloud.platform.web.EncryptedBodyAdvice;
+import com.cqcloud.platform.web.EncryptedJsonModule;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Web请求/响应体字段加密配置
+ * Spring Boot会将容器中的Jackson模块注册到默认ObjectMapper
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+@Slf4j
+@AutoConfiguration(after = EncryptionAutoConfiguration.class,
+        beforeName = "org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration")
+@ConditionalOnClass({ObjectMapper.class, ResponseBodyAdvice.class})
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnBean(EncryptionManager.class)
+@ConditionalOnProperty(prefix = "spring.encryption", name = "web-enabled", havingValue = "true", matchIfMissing = true)
+public class WebEncryptionConfig {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public EncryptedJsonModule encryptedJsonModule(EncryptionManager encryptionManager) {
+        log.info("初始化JSON字段加密模块");
+        return new EncryptedJsonModule(encryptionManager);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public EncryptedBodyAdvice encryptedBodyAdvice() {
+        return new EncryptedBodyAdvice();
+    }
+}
@@ -41,4 +41,26 @@ public enum AlgorithmType {
         this.keySize = keySize;
         this.authenticated = authenticated;
     }
+
+    /**
+     * 密文标识前缀，如 ENC(AES-GCM):
+     */
+    public String getFlag() {
+        return "ENC(" + name().replace('_', '-') + "):";
+    }
+
+    /**
+     * 根据密文标识前缀识别算法，未加密的文本返回null
+     */
+    public static AlgorithmType fromCiphertext(String text) {
+        if (text == null || !text.startsWith("ENC(")) {
+            return null;
+        }
+        for (AlgorithmType type : values()) {
+            if (text.startsWith(type.getFlag())) {
+                return type;
+            }
+        }
+        return null;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,94 @@
+package com.cqcloud.platform.handler;
+
+import com.cqcloud.platform.annotation.Encrypted;
+import com.cqcloud.platform.enums.AlgorithmType;
+import com.cqcloud.platform.manager.EncryptionManager;
+import com.cqcloud.platform.strategy.CipherContext;
+import org.apache.ibatis.type.BaseTypeHandler;
+
+/**
+ * 加密类型处理器基类
+ * 密钥与算法依次从处理器子类上的 {@link Encrypted}、加密管理器默认值解析，
+ * 加解密直接使用加密管理器中预先构建的 {@link CipherContext}，不经过反射；加解密失败时抛出异常，不会写入明文。
+ * MyBatis只通过无参与 {@code (Class)} 构造器创建类型处理器，MyBatis-Plus也只为 {@code IJsonTypeHandler} 传入字段，
+ * 字段上的 {@link Encrypted} 对处理器不生效，每种密钥、算法与格式的组合需要一个带注解的处理器子类
+ * <pre>
+ * &#64;Encrypted(keyId = "phone")
+ * public class PhoneTypeHandler extends EncryptedStringTypeHandler {
+ * }
+ *
+ * &#64;TableField(typeHandler = PhoneTypeHandler.class)
+ * private String phone;
+ * </pre>
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+public abstract class AbstractEncryptedTypeHandler<T> extends BaseTypeHandler<T> {
+
+    /**
+     * 由自动配置设置的加密管理器，供MyBatis反射创建的处理器使用
+     */
+    private static volatile EncryptionManager defaultEncryptionManager;
+
+    private final EncryptionManager encryptionManager;
+    private final String keyId;
+    private final AlgorithmType algorithm;
+    private final String format;
+    private final int compressThreshold;
+
+    protected AbstractEncryptedTypeHandler() {
+        this(null, null);
+    }
+
+    protected AbstractEncryptedTypeHandler(EncryptionManager encryptionManager, String keyId) {
+        Encrypted typeAnnotation = getClass().getAnnotation(Encrypted.class);
+        this.encryptionManager = encryptionManager;
+        this.keyId = keyId != null ? keyId : typeAnnotation != null ? typeAnnotation.keyId() : null;
+        this.algorithm = typeAnnotation != null ? typeAnnotation.algorithm() : null;
+        this.format = typeAnnotation != null ? typeAnnotation.format() : "";
+        this.compressThreshold = typeAnnotation != null ? typeAnnotation.compressThreshold() : -1;
+    }
+
+    /**
+     * 设置默认加密管理器
+     */
+    public static void setDefaultEncryptionManager(EncryptionManager encryptionManager) {
+        defaultEncryptionManager = encryptionManager;
+    }
+
+    /**
+     * 获取绑定的加密上下文
+     * 上下文由加密管理器创建并缓存，密钥轮换后自动使用新的上下文
+     */
+    protected CipherContext cipherContext() {
+        EncryptionManager manager = encryptionManager();
+        return manager.getCipherContext(keyId != null ? keyId : manager.getDefaultKeyId(),
+                algorithm != null ? algorithm : manager.getDefaultAlgorithm());
+    }
+
+    protected EncryptionManager encryptionManager() {
+        EncryptionManager manager = encryptionManager != null ? encryptionManager : defaultEncryptionManager;
+        if (manager == null) {
+            throw new IllegalStateException("加密类型处理器未绑定加密管理器: " + getClass().getName());
+        }
+        return manager;
+    }
+
+    protected String keyId() {
+        return keyId != null ? keyId : encryptionManager().getDefaultKeyId();
+    }
+
+    /**
+     * 字段格式，取处理器子类上的 {@link Encrypted#format()}，未指定时为空字符串
+     */
+    protected String format() {
+        return format;
+    }
+
+    /**
+     * 压缩阈值，取处理器子类上的 {@link Encrypted#compressThreshold()}，-1表示不压缩
+     */
+    protected int compressThreshold() {
+        return compressThreshold;
+    }
+}
@@ -0,0 +1,59 @@
+package com.cqcloud.platform.handler;
+
+import com.cqcloud.platform.manager.EncryptionManager;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.MappedJdbcTypes;
+import org.apache.ibatis.type.MappedTypes;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 二进制加密类型处理器
+ * 列中直接保存 IV + 密文 的原始字节，不做Base64编码与标识前缀，适用于BLOB/VARBINARY列
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+@MappedTypes({byte[].class})
+@MappedJdbcTypes({JdbcType.BLOB, JdbcType.BINARY, JdbcType.VARBINARY, JdbcType.LONGVARBINARY})
+public class EncryptedBytesTypeHandler extends AbstractEncryptedTypeHandler<byte[]> {
+
+    public EncryptedBytesTypeHandler() {
+        super();
+    }
+
+    public EncryptedBytesTypeHandler(Class<?> javaType) {
+        super();
+    }
+
+    public EncryptedBytesTypeHandler(EncryptionManager encryptionManager, String keyId) {
+        super(encryptionManager, keyId);
+    }
+
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, byte[] parameter, JdbcType jdbcType)
+            throws SQLException {
+        ps.setBytes(i, cipherContext().encrypt(parameter));
+    }
+
+    @Override
+    public byte[] getNullableResult(ResultSet rs, String columnName) throws SQLException {
+        return decryptValue(rs.getBytes(columnName));
+    }
+
+    @Override
+    public byte[] getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+        return decryptValue(rs.getBytes(columnIndex));
+    }
+
+    @Override
+    public byte[] getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+        return decryptValue(cs.getBytes(columnIndex));
+    }
+
+    private byte[] decryptValue(byte[] value) {
+        return value == null ? null : cipherContext().decrypt(value);
+    }
+}
@@ -1,8 +1,8 @@
 package com.cqcloud.platform.handler;
 
-import lombok.extern.slf4j.Slf4j;
-import org.apache.ibatis.type.BaseTypeHandler;
+import com.cqcloud.platform.enums.AlgorithmType;
 import com.cqcloud.platform.manager.EncryptionManager;
+import com.cqcloud.platform.strategy.CipherContext;
 import org.apache.ibatis.type.JdbcType;
 import org.apache.ibatis.type.MappedJdbcTypes;
 import org.apache.ibatis.type.MappedTypes;
@@ -14,20 +14,24 @@ import java.sql.SQLException;
 
 /**
  * MyBatis-Plus字符串加密类型处理器
+ * 列中保存带标识前缀的Base64密文，未加密的历史数据原样读出；指定了 {@code compressThreshold} 的较大值先压缩再加密
  * @author weimeilayer@gmail.com ✨
  * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
  */
-@Slf4j
 @MappedTypes({String.class})
 @MappedJdbcTypes({JdbcType.VARCHAR, JdbcType.CHAR, JdbcType.LONGVARCHAR})
-public class EncryptedStringTypeHandler extends BaseTypeHandler<String> {
+public class EncryptedStringTypeHandler extends AbstractEncryptedTypeHandler<String> {
 
-    private final EncryptionManager encryptionManager;
-    private final String keyId;
+    public EncryptedStringTypeHandler() {
+        super();
+    }
+
+    public EncryptedStringTypeHandler(Class<?> javaType) {
+        super();
+    }
 
     public EncryptedStringTypeHandler(EncryptionManager encryptionManager, String keyId) {
-        this.encryptionManager = encryptionManager;
-        this.keyId = keyId;
+        super(encryptionManager, keyId);
     }
 
     public EncryptedStringTypeHandler(EncryptionManager encryptionManager) {
@@ -37,51 +41,38 @@ public class EncryptedStringTypeHandler extends BaseTypeHandler<String> {
     @Override
     public void setNonNullParameter(PreparedStatement ps, int i, String parameter, JdbcType jdbcType)
             throws SQLException {
-        try {
-            // 加密参数
-            String encrypted = encryptionManager.encrypt(parameter, keyId);
-            ps.setString(i, encrypted);
-        } catch (Exception e) {
-            log.error("设置加密参数失败: index={}, parameter={}", i, parameter, e);
-            ps.setString(i, parameter);
-        }
+        ps.setString(i, cipherContext().encrypt(parameter, compressThreshold()));
     }
 
     @Override
     public String getNullableResult(ResultSet rs, String columnName) throws SQLException {
-        String value = rs.getString(columnName);
-        return decryptValue(value);
+        return decryptValue(rs.getString(columnName));
     }
 
     @Override
     public String getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
-        String value = rs.getString(columnIndex);
-        return decryptValue(value);
+        return decryptValue(rs.getString(columnIndex));
     }
 
     @Override
     public String getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
-        String value = cs.getString(columnIndex);
-        return decryptValue(value);
+        return decryptValue(cs.getString(columnIndex));
     }
 
     /**
-     * 解密值
+     * 解密值，密文算法与处理器绑定的算法不一致时交由加密管理器识别
      */
     private String decryptValue(String value) {
         if (value == null) {
             return null;
         }
-
-        try {
-            // 检查是否需要解密
-            if (encryptionManager.isEncrypted(value)) {
-                return encryptionManager.decrypt(value, keyId);
-            }
-            return value;
-        } catch (Exception e) {
-            log.error("解密字段值失败: value={}", value, e);
-            return value;
+        CipherContext context = cipherContext();
+        if (context.isEncrypted(value)) {
+            return context.decrypt(value);
+        }
+        if (AlgorithmType.fromCiphertext(value) != null) {
+            return encryptionManager().decrypt(value, keyId());
         }
+        return value;
     }
-}
\ No newline at end of file
+}
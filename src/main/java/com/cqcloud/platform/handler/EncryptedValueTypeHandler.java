@@ -0,0 +1,97 @@
+package com.cqcloud.platform.handler;
+
+import com.cqcloud.platform.codec.FieldCodec;
+import com.cqcloud.platform.codec.FieldCodecs;
+import com.cqcloud.platform.enums.AlgorithmType;
+import com.cqcloud.platform.manager.EncryptionManager;
+import com.cqcloud.platform.strategy.CipherContext;
+import org.apache.ibatis.type.JdbcType;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 类型化字段加密类型处理器
+ * 用于 Long、LocalDate、BigDecimal、byte[] 或JSON对象等非字符串字段：字段值先由 {@link FieldCodec} 编码为紧凑二进制再加密，
+ * 列中保存带标识前缀的Base64密文；编解码器在处理器创建（即构建映射元数据）时按字段类型与 {@code @Encrypted.format} 解析一次。
+ * 其他算法的密文交由加密管理器解密，只有未加密的历史值通过 {@link FieldCodec#parse(String)} 解析。
+ * MyBatis通过 {@code (Class)} 构造器创建类型处理器，MyBatis-Plus只为 {@code IJsonTypeHandler} 传入字段，字段上的 {@code @Encrypted} 不会生效，
+ * 每种密钥、算法与格式的组合都必须声明带 {@code @Encrypted} 注解的处理器子类，并在 {@code typeHandler} 中引用该子类；
+ * 未配置加密类型处理器的非字符串加密字段在启动时报错
+ * <pre>
+ * &#64;Encrypted(keyId = "profile", format = "json")
+ * public class ProfileTypeHandler extends EncryptedValueTypeHandler {
+ *     public ProfileTypeHandler(Class&lt;?&gt; javaType) {
+ *         super(javaType);
+ *     }
+ * }
+ *
+ * &#64;TableField(typeHandler = ProfileTypeHandler.class)
+ * private Profile profile;
+ * </pre>
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+public class EncryptedValueTypeHandler extends AbstractEncryptedTypeHandler<Object> {
+
+    private final FieldCodec<Object> codec;
+
+    public EncryptedValueTypeHandler(Class<?> javaType) {
+        super();
+        this.codec = resolveCodec(javaType);
+    }
+
+    public EncryptedValueTypeHandler(EncryptionManager encryptionManager, String keyId, Class<?> javaType) {
+        super(encryptionManager, keyId);
+        this.codec = resolveCodec(javaType);
+    }
+
+    @SuppressWarnings("unchecked")
+    private FieldCodec<Object> resolveCodec(Class<?> type) {
+        if (type == null) {
+            throw new IllegalArgumentException("类型化字段加密处理器需要Java类型: " + getClass().getName());
+        }
+        return (FieldCodec<Object>) FieldCodecs.resolve(type, format());
+    }
+
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, Object parameter, JdbcType jdbcType)
+            throws SQLException {
+        ps.setString(i, cipherContext().encryptToString(codec.encode(parameter), compressThreshold()));
+    }
+
+    @Override
+    public Object getNullableResult(ResultSet rs, String columnName) throws SQLException {
+        return decryptValue(rs.getString(columnName));
+    }
+
+    @Override
+    public Object getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+        return decryptValue(rs.getString(columnIndex));
+    }
+
+    @Override
+    public Object getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+        return decryptValue(cs.getString(columnIndex));
+    }
+
+    /**
+     * 解密值，密文算法与处理器绑定的算法不一致时交由加密管理器识别
+     */
+    private Object decryptValue(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        CipherContext context = cipherContext();
+        if (context.isEncrypted(value)) {
+            return codec.decode(context.decryptToBytes(value));
+        }
+        AlgorithmType algorithm = AlgorithmType.fromCiphertext(value);
+        if (algorithm != null) {
+            return codec.decode(encryptionManager().getCipherContext(keyId(), algorithm).decryptToBytes(value));
+        }
+        return codec.parse(value);
+    }
+}
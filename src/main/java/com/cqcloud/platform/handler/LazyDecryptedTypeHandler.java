@@ -0,0 +1,48 @@
+package com.cqcloud.platform.handler;
+
+import com.cqcloud.platform.lazy.LazyDecrypted;
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.MappedJdbcTypes;
+import org.apache.ibatis.type.MappedTypes;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 延迟解密类型处理器
+ * 读取时只包装密文不解密，写入时取 {@link LazyDecrypted} 当前的密文
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+@MappedTypes({LazyDecrypted.class})
+@MappedJdbcTypes({JdbcType.VARCHAR, JdbcType.CHAR, JdbcType.LONGVARCHAR})
+public class LazyDecryptedTypeHandler extends BaseTypeHandler<LazyDecrypted> {
+
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, LazyDecrypted parameter, JdbcType jdbcType)
+            throws SQLException {
+        ps.setString(i, parameter.getCiphertext());
+    }
+
+    @Override
+    public LazyDecrypted getNullableResult(ResultSet rs, String columnName) throws SQLException {
+        return wrap(rs.getString(columnName));
+    }
+
+    @Override
+    public LazyDecrypted getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+        return wrap(rs.getString(columnIndex));
+    }
+
+    @Override
+    public LazyDecrypted getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+        return wrap(cs.getString(columnIndex));
+    }
+
+    private LazyDecrypted wrap(String ciphertext) {
+        return ciphertext == null ? null : LazyDecrypted.ofCiphertext(ciphertext);
+    }
+}
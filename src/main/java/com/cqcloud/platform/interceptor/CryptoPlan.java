@@ -0,0 +1,231 @@
+package com.cqcloud.platform.interceptor;
+
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.cqcloud.platform.processor.EncryptedFieldProcessor;
+import com.cqcloud.platform.utils.ReflectionUtil;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.ResultMapping;
+import org.apache.ibatis.mapping.SqlCommandType;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.regex.Pattern;
+
+/**
+ * 语句加解密计划
+ * 每个 {@link MappedStatement} 首次执行时编译一次：确定SQL类型、结果实体类型及其加密字段，
+ * 之后的执行只按计划处理；查询结果不含加密字段的语句直接放行，不再逐条检查结果
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+@Slf4j
+class CryptoPlan {
+
+    private static final int PROJECTION_CACHE_SIZE = 64;
+    private static final Pattern GENERIC_PARAM = Pattern.compile("param\\d+");
+
+    private final SqlCommandType commandType;
+
+    /**
+     * 结果实体类型，无法静态确定时为null
+     */
+    private final Class<?> resultType;
+
+    /**
+     * 结果实体类型的加密字段
+     */
+    private final List<Field> resultFields;
+
+    /**
+     * 是否需要处理查询结果
+     */
+    private final boolean decryptResults;
+
+    /**
+     * {@link org.apache.ibatis.binding.MapperMethod.ParamMap} 中需要遍历的参数键，首次执行时编译
+     */
+    private volatile List<String> parameterKeys;
+
+    /**
+     * SQL -> 查询投影，同一语句的动态SQL变体各解析一次
+     */
+    private final Cache<String, SelectProjection> projections;
+
+    /**
+     * 结果列标签（归一化）-> 密钥ID，结果字段全部为字符串时可在读取结果集时直接解密，否则为null
+     */
+    private final Map<String, String> columnKeys;
+
+    private CryptoPlan(SqlCommandType commandType, Class<?> resultType, List<Field> resultFields,
+                       boolean decryptResults) {
+        this(commandType, resultType, resultFields, decryptResults, null);
+    }
+
+    private CryptoPlan(SqlCommandType commandType, Class<?> resultType, List<Field> resultFields,
+                       boolean decryptResults, Map<String, String> columnKeys) {
+        this.commandType = commandType;
+        this.resultType = resultType;
+        this.resultFields = resultFields;
+        this.decryptResults = decryptResults;
+        this.columnKeys = columnKeys;
+        this.projections = decryptResults
+                ? CacheBuilder.newBuilder().maximumSize(PROJECTION_CACHE_SIZE).build()
+                : null;
+    }
+
+    /**
+     * 编译语句的加解密计划
+     */
+    static CryptoPlan compile(MappedStatement ms, EncryptedFieldProcessor fieldProcessor) {
+        SqlCommandType commandType = ms.getSqlCommandType();
+        if (SqlCommandType.SELECT != commandType) {
+            return new CryptoPlan(commandType, null, Collections.emptyList(), false);
+        }
+
+        List<ResultMap> resultMaps = ms.getResultMaps();
+        if (resultMaps.size() != 1 || resultMaps.get(0).getDiscriminator() != null) {
+            // 多结果集或鉴别器映射，结果类型只能逐条确定
+            return new CryptoPlan(commandType, null, Collections.emptyList(), true);
+        }
+
+        Class<?> type = resultMaps.get(0).getType();
+        if (Map.class.isAssignableFrom(type) || ReflectionUtil.isBasicType(type)) {
+            return new CryptoPlan(commandType, type, Collections.emptyList(), false);
+        }
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers()) || type == Object.class) {
+            return new CryptoPlan(commandType, null, Collections.emptyList(), true);
+        }
+
+        List<Field> fields = fieldProcessor.getEncryptedFields(type);
+        if (log.isDebugEnabled()) {
+            log.debug("编译加解密计划: {} -> {}, 加密字段数={}", ms.getId(), type.getSimpleName(), fields.size());
+        }
+        return new CryptoPlan(commandType, type, fields, !fields.isEmpty(), columnKeys(resultMaps.get(0), fields, fieldProcessor));
+    }
+
+    /**
+     * 计算加密字段对应的结果列，存在非字符串加密字段（如延迟解密字段）时返回null
+     */
+    private static Map<String, String> columnKeys(ResultMap resultMap, List<Field> fields,
+                                                  EncryptedFieldProcessor fieldProcessor) {
+        if (fields.isEmpty()) {
+            return null;
+        }
+        Map<String, String> columnKeys = new HashMap<>();
+        for (Field field : fields) {
+            if (field.getType() != String.class) {
+                return null;
+            }
+            String keyId = fieldProcessor.keyIdOf(field);
+            columnKeys.put(SelectProjection.normalize(field.getName()), keyId);
+            TableField tableField = field.getAnnotation(TableField.class);
+            if (tableField != null && !tableField.value().isEmpty()) {
+                columnKeys.put(SelectProjection.normalize(tableField.value()), keyId);
+            }
+            for (ResultMapping mapping : resultMap.getResultMappings()) {
+                if (field.getName().equals(mapping.getProperty()) && mapping.getColumn() != null) {
+                    columnKeys.put(SelectProjection.normalize(mapping.getColumn()), keyId);
+                }
+            }
+        }
+        return columnKeys;
+    }
+
+    boolean isSelect() {
+        return SqlCommandType.SELECT == commandType;
+    }
+
+    boolean isWrite() {
+        return SqlCommandType.INSERT == commandType || SqlCommandType.UPDATE == commandType;
+    }
+
+    /**
+     * 是否需要处理查询结果
+     */
+    boolean decryptsResults() {
+        return decryptResults;
+    }
+
+    /**
+     * 是否可以在读取结果集时按列解密
+     */
+    boolean decryptsColumns() {
+        return columnKeys != null;
+    }
+
+    /**
+     * 结果列标签（归一化）-> 密钥ID
+     */
+    Map<String, String> columnKeys() {
+        return columnKeys;
+    }
+
+    /**
+     * 获取结果对象需要解密的字段
+     */
+    List<Field> resultFields(Object item, SelectProjection projection, EncryptedFieldProcessor fieldProcessor) {
+        Class<?> type = item.getClass();
+        if (type == resultType) {
+            return projection.select(type, resultFields);
+        }
+        if (ReflectionUtil.isBasicType(type)) {
+            return Collections.emptyList();
+        }
+        return projection.select(type, fieldProcessor.getEncryptedFields(type));
+    }
+
+    /**
+     * 获取需要遍历的参数键
+     * 只在首次执行时排除 {@code paramN} 形式且与具名参数指向同一对象的别名（别名关系由MyBatis按方法签名固定生成）；
+     * 参数值是否可能包含加密字段随每次执行的实际值变化（如 Object 或泛型参数），由遍历时按值判断，不在此冻结
+     * @param paramMap 本次执行的参数
+     */
+    List<String> parameterKeys(Map<?, ?> paramMap) {
+        List<String> keys = parameterKeys;
+        if (keys == null) {
+            keys = new ArrayList<>();
+            Set<Object> named = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Map.Entry<?, ?> entry : paramMap.entrySet()) {
+                String key = String.valueOf(entry.getKey());
+                if (!GENERIC_PARAM.matcher(key).matches() && entry.getValue() != null) {
+                    named.add(entry.getValue());
+                }
+            }
+            for (Map.Entry<?, ?> entry : paramMap.entrySet()) {
+                String key = String.valueOf(entry.getKey());
+                Object value = entry.getValue();
+                if (value != null && GENERIC_PARAM.matcher(key).matches() && named.contains(value)) {
+                    continue;
+                }
+                keys.add(key);
+            }
+            parameterKeys = keys;
+        }
+        return keys;
+    }
+
+    /**
+     * 获取SQL的查询投影
+     */
+    SelectProjection projection(MappedStatement ms, String sql) {
+        try {
+            return projections.get(sql, () -> SelectProjection.of(ms, sql));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            log.debug("解析查询投影失败，解密全部加密字段: {}", ms.getId(), e);
+            return SelectProjection.ALL;
+        }
+    }
+}
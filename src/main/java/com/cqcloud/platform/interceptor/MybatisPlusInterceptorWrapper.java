@@ -2,29 +2,47 @@ package com.cqcloud.platform.interceptor;
 
 
 
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
 import com.baomidou.mybatisplus.core.toolkit.CollectionUtils;
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
 import com.cqcloud.platform.annotation.Encrypted;
+import com.cqcloud.platform.config.EncryptionProperties;
+import com.cqcloud.platform.handler.AbstractEncryptedTypeHandler;
 import com.cqcloud.platform.manager.EncryptionManager;
-import com.cqcloud.platform.utils.ReflectionUtil;
-import lombok.RequiredArgsConstructor;
+import com.cqcloud.platform.processor.DirtyTracker;
+import com.cqcloud.platform.processor.EncryptedFieldProcessor;
+import com.cqcloud.platform.processor.FieldNameMatcher;
+import com.cqcloud.platform.processor.FieldSnapshot;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cache.CacheKey;
 import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.parameter.ParameterHandler;
+import org.apache.ibatis.executor.resultset.ResultSetHandler;
+import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
-import org.apache.ibatis.mapping.SqlCommandType;
 import org.apache.ibatis.plugin.Interceptor;
 import org.apache.ibatis.plugin.Intercepts;
 import org.apache.ibatis.plugin.Invocation;
 import org.apache.ibatis.plugin.Signature;
 import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.session.RowBounds;
 
 import java.lang.reflect.Field;
-import java.util.Collection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * MyBatis-Plus加密拦截器包装器
+ * 默认在参数绑定（{@link ParameterHandler#setParameters}）时加密，绑定完成后立即还原明文，
+ * 调用方的实体不会被写入密文；关闭绑定时加密后退回到在 {@link Executor#update} 前原地加密。
+ * 查询结果默认在实体创建后解密，开启结果集解密后改为在 {@link ResultSetHandler#handleResultSets} 中按列解密
  * @author weimeilayer@gmail.com ✨
  * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
  */
@@ -33,109 +51,203 @@ import java.util.Map;
         @Signature(type = Executor.class, method = "update",
                 args = {MappedStatement.class, Object.class}),
         @Signature(type = Executor.class, method = "query",
-                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class})
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class,
+                        CacheKey.class, BoundSql.class}),
+        @Signature(type = ParameterHandler.class, method = "setParameters",
+                args = {PreparedStatement.class}),
+        @Signature(type = ResultSetHandler.class, method = "handleResultSets",
+                args = {Statement.class})
 })
-@RequiredArgsConstructor
 public class MybatisPlusInterceptorWrapper implements Interceptor {
 
     private final EncryptionManager encryptionManager;
+    private final EncryptedFieldProcessor fieldProcessor;
+    private final ParameterWalker parameterWalker;
+    private final boolean bindingEncryption;
+    private final boolean resultSetDecryption;
+
+    /**
+     * 语句ID -> 加解密计划
+     */
+    private final Map<String, CryptoPlan> plans = new ConcurrentHashMap<>();
+
+    public MybatisPlusInterceptorWrapper(EncryptionManager encryptionManager) {
+        this(encryptionManager, new EncryptionProperties());
+    }
+
+    public MybatisPlusInterceptorWrapper(EncryptionManager encryptionManager, EncryptionProperties properties) {
+        this.encryptionManager = encryptionManager;
+        this.fieldProcessor = new EncryptedFieldProcessor(encryptionManager,
+                properties.isDirtyTrackingEnabled() ? new DirtyTracker(properties.getDirtyTrackingMaxSize()) : null,
+                FieldNameMatcher.compile(properties.getIncludePatterns(), properties.getExcludePatterns()));
+        this.parameterWalker = new ParameterWalker(fieldProcessor);
+        this.bindingEncryption = properties.isBindingEncryptionEnabled();
+        // 按列解密时实体拿不到原始密文，无法记录脏检查状态，两者同时开启时以脏检查为准
+        this.resultSetDecryption = properties.isResultSetDecryptionEnabled() && !properties.isDirtyTrackingEnabled();
+        if (properties.isResultSetDecryptionEnabled() && properties.isDirtyTrackingEnabled()) {
+            log.warn("result-set-decryption-enabled 与 dirty-tracking-enabled 不能同时生效，已关闭按列解密");
+        }
+    }
 
     @Override
     public Object intercept(Invocation invocation) throws Throwable {
-        String methodName = invocation.getMethod().getName();
+        if (invocation.getTarget() instanceof ParameterHandler) {
+            return interceptSetParameters(invocation);
+        }
+        if (invocation.getTarget() instanceof ResultSetHandler) {
+            return interceptHandleResultSets(invocation);
+        }
+
         Object[] args = invocation.getArgs();
         MappedStatement ms = (MappedStatement) args[0];
         Object parameter = args[1];
+        CryptoPlan plan = plan(ms);
 
-        // 判断SQL类型
-        SqlCommandType sqlCommandType = ms.getSqlCommandType();
+        // 处理参数加密（绑定时加密模式下由setParameters处理）
+        if (!bindingEncryption && plan.isWrite()) {
+            processEncryption(parameter, plan, null);
+        }
 
-        // 处理参数加密
-        if (SqlCommandType.INSERT == sqlCommandType ||
-                SqlCommandType.UPDATE == sqlCommandType) {
-            processEncryption(parameter);
+        // 查询结果不含加密字段、或已在读取结果集时解密的语句直接放行
+        if (!plan.decryptsResults() || (resultSetDecryption && plan.decryptsColumns())) {
+            return invocation.proceed();
         }
 
-        // 执行原始方法
         Object result = invocation.proceed();
 
-        // 处理结果解密
-        if (SqlCommandType.SELECT == sqlCommandType) {
-            result = processDecryption(result);
-        }
+        // 处理结果解密，只解密SELECT列表中出现的加密字段
+        BoundSql boundSql = args.length == 6 ? (BoundSql) args[5] : ms.getBoundSql(parameter);
+        return processDecryption(result, plan, plan.projection(ms, boundSql.getSql()));
+    }
 
-        return result;
+    /**
+     * 读取结果集时按列解密
+     */
+    private Object interceptHandleResultSets(Invocation invocation) throws Throwable {
+        if (!resultSetDecryption) {
+            return invocation.proceed();
+        }
+        MetaObject metaObject = PluginUtils.getMetaObject(PluginUtils.realTarget(invocation.getTarget()));
+        CryptoPlan plan = plan((MappedStatement) metaObject.getValue("mappedStatement"));
+        if (!plan.decryptsColumns()) {
+            return invocation.proceed();
+        }
+        Object[] args = invocation.getArgs();
+        args[0] = ResultSetDecryptor.wrap((Statement) args[0], plan.columnKeys(), encryptionManager);
+        return invocation.proceed();
     }
 
     /**
-     * 处理加密
+     * 预先解析 TableInfoHelper 中所有实体的加密字段与参数路径
+     * @return 实体数
      */
-    private void processEncryption(Object parameter) {
-        if (parameter == null) {
-            return;
+    public int prepareEntities() {
+        List<TableInfo> tableInfos = TableInfoHelper.getTableInfos();
+        for (TableInfo tableInfo : tableInfos) {
+            Class<?> entityType = tableInfo.getEntityType();
+            fieldProcessor.getEncryptedFields(entityType);
+            parameterWalker.prepare(entityType);
         }
+        return tableInfos.size();
+    }
 
-        try {
-            // 处理Map参数
-            if (parameter instanceof Map) {
-                Map<?, ?> paramMap = (Map<?, ?>) parameter;
-                for (Object value : paramMap.values()) {
-                    encryptObject(value);
+    /**
+     * 校验 TableInfoHelper 中所有实体的非字符串 {@link Encrypted} 字段都配置了加密类型处理器；
+     * 字段处理器无法原地加密这类字段，未配置时会以明文写入数据库
+     * @throws IllegalStateException 存在未配置加密类型处理器的字段
+     */
+    public void validateTypedFields() {
+        List<String> unprotected = new ArrayList<>();
+        for (TableInfo tableInfo : TableInfoHelper.getTableInfos()) {
+            for (TableFieldInfo fieldInfo : tableInfo.getFieldList()) {
+                Field field = fieldInfo.getField();
+                if (!field.isAnnotationPresent(Encrypted.class) || EncryptedFieldProcessor.isInPlaceType(field.getType())) {
+                    continue;
                 }
-            }
-            // 处理集合参数
-            else if (parameter instanceof Collection) {
-                for (Object item : (Collection<?>) parameter) {
-                    encryptObject(item);
+                Class<?> typeHandler = fieldInfo.getTypeHandler();
+                if (typeHandler == null || !AbstractEncryptedTypeHandler.class.isAssignableFrom(typeHandler)) {
+                    unprotected.add(tableInfo.getEntityType().getSimpleName() + "." + field.getName());
                 }
             }
-            // 处理单个对象
-            else {
-                encryptObject(parameter);
-            }
-        } catch (Exception e) {
-            log.error("加密参数失败", e);
-            throw new RuntimeException("加密参数失败", e);
+        }
+        if (!unprotected.isEmpty()) {
+            throw new IllegalStateException("非字符串加密字段未配置加密类型处理器（@TableField(typeHandler = ...)），"
+                    + "将以明文写入数据库: " + unprotected);
         }
     }
 
     /**
-     * 加密对象字段
+     * 预先编译配置中所有已解析语句的加解密计划
+     * @return 语句数
      */
-    private void encryptObject(Object obj) throws Exception {
-        if (obj == null || ReflectionUtil.isBasicType(obj.getClass())) {
-            return;
+    public int prepareStatements(org.apache.ibatis.session.Configuration configuration) {
+        int count = 0;
+        // 语句集合中同时包含短名称，短名称冲突时对应的值不是MappedStatement
+        for (Object statement : configuration.getMappedStatements()) {
+            if (statement instanceof MappedStatement) {
+                plan((MappedStatement) statement);
+                count++;
+            }
         }
+        return count;
+    }
 
-        List<Field> fields = ReflectionUtil.getFieldsWithAnnotation(obj.getClass(), Encrypted.class);
-        if (CollectionUtils.isEmpty(fields)) {
-            return;
+    /**
+     * 获取语句的加解密计划，首次执行时编译
+     */
+    private CryptoPlan plan(MappedStatement ms) {
+        CryptoPlan plan = plans.get(ms.getId());
+        if (plan == null) {
+            plan = plans.computeIfAbsent(ms.getId(), id -> CryptoPlan.compile(ms, fieldProcessor));
         }
+        return plan;
+    }
 
-        for (Field field : fields) {
-            field.setAccessible(true);
-            Object value = field.get(obj);
+    /**
+     * 参数绑定时加密，绑定完成后还原实体明文
+     */
+    private Object interceptSetParameters(Invocation invocation) throws Throwable {
+        ParameterHandler parameterHandler = PluginUtils.realTarget(invocation.getTarget());
+        MetaObject metaObject = PluginUtils.getMetaObject(parameterHandler);
+        MappedStatement ms = (MappedStatement) metaObject.getValue("mappedStatement");
+        CryptoPlan plan = plan(ms);
+        if (!bindingEncryption || !plan.isWrite()) {
+            return invocation.proceed();
+        }
 
-            if (value instanceof String) {
-                String strValue = (String) value;
-                if (strValue != null && !encryptionManager.isEncrypted(strValue)) {
-                    Encrypted encrypted = field.getAnnotation(Encrypted.class);
-                    String keyId = encrypted.keyId();
-                    String encryptedValue = encryptionManager.encrypt(strValue, keyId);
-                    field.set(obj, encryptedValue);
+        FieldSnapshot snapshot = new FieldSnapshot();
+        try {
+            processEncryption(parameterHandler.getParameterObject(), plan, snapshot);
+            return invocation.proceed();
+        } finally {
+            snapshot.restore();
+        }
+    }
 
-                    if (log.isDebugEnabled()) {
-                        log.debug("加密字段: {}.{}", obj.getClass().getSimpleName(), field.getName());
-                    }
-                }
+    /**
+     * 处理加密，沿编译好的参数路径收集带有加密字段的对象后整批加密
+     * @param parameter 参数
+     * @param plan 语句计划
+     * @param snapshot 原值快照，为null时原地加密不还原
+     */
+    private void processEncryption(Object parameter, CryptoPlan plan, FieldSnapshot snapshot) {
+        try {
+            List<Object> targets = parameterWalker.collect(parameter, plan);
+            if (!targets.isEmpty()) {
+                fieldProcessor.encryptBatch(targets, snapshot);
             }
+        } catch (Exception e) {
+            log.error("加密参数失败", e);
+            throw new RuntimeException("加密参数失败", e);
         }
     }
 
     /**
      * 处理解密
      */
-    private Object processDecryption(Object result) {
+    private Object processDecryption(Object result, CryptoPlan plan, SelectProjection projection) {
         if (result == null) {
             return null;
         }
@@ -146,13 +258,13 @@ public class MybatisPlusInterceptorWrapper implements Interceptor {
                 List<?> list = (List<?>) result;
                 if (CollectionUtils.isNotEmpty(list)) {
                     for (Object item : list) {
-                        decryptObject(item);
+                        decryptItem(item, plan, projection);
                     }
                 }
             }
             // 处理单个对象
             else {
-                decryptObject(result);
+                decryptItem(result, plan, projection);
             }
         } catch (Exception e) {
             log.error("解密结果失败", e);
@@ -162,36 +274,13 @@ public class MybatisPlusInterceptorWrapper implements Interceptor {
         return result;
     }
 
-    /**
-     * 解密对象字段
-     */
-    private void decryptObject(Object obj) throws Exception {
-        if (obj == null || ReflectionUtil.isBasicType(obj.getClass())) {
-            return;
-        }
-
-        List<Field> fields = ReflectionUtil.getFieldsWithAnnotation(obj.getClass(), Encrypted.class);
-        if (CollectionUtils.isEmpty(fields)) {
+    private void decryptItem(Object item, CryptoPlan plan, SelectProjection projection) throws Exception {
+        if (item == null) {
             return;
         }
-
-        for (Field field : fields) {
-            field.setAccessible(true);
-            Object value = field.get(obj);
-
-            if (value instanceof String) {
-                String strValue = (String) value;
-                if (strValue != null && encryptionManager.isEncrypted(strValue)) {
-                    Encrypted encrypted = field.getAnnotation(Encrypted.class);
-                    String keyId = encrypted.keyId();
-                    String decryptedValue = encryptionManager.decrypt(strValue, keyId);
-                    field.set(obj, decryptedValue);
-
-                    if (log.isDebugEnabled()) {
-                        log.debug("解密字段: {}.{}", obj.getClass().getSimpleName(), field.getName());
-                    }
-                }
-            }
+        List<Field> fields = plan.resultFields(item, projection, fieldProcessor);
+        if (!fields.isEmpty()) {
+            fieldProcessor.decryptFields(item, fields);
         }
     }
 
@@ -0,0 +1,198 @@
+package com.cqcloud.platform.interceptor;
+
+import com.baomidou.mybatisplus.core.conditions.AbstractWrapper;
+import com.cqcloud.platform.processor.EncryptedFieldProcessor;
+import com.cqcloud.platform.utils.ReflectionUtil;
+import org.apache.ibatis.binding.MapperMethod;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 参数遍历器
+ * 按类型编译出可能包含加密字段的对象路径（自身加密字段、嵌套DTO字段、集合元素、条件构造器实体），
+ * 每次执行只沿这些路径查找需要加密的对象，按对象标识去重，{@code param1}/{@code et} 等别名只处理一次
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+class ParameterWalker {
+
+    private static final TypePath NONE = new TypePath(false, Collections.emptyList());
+
+    private final EncryptedFieldProcessor fieldProcessor;
+
+    /**
+     * 类型 -> 编译后的路径
+     */
+    private final Map<Class<?>, TypePath> typePaths = new ConcurrentHashMap<>();
+
+    ParameterWalker(EncryptedFieldProcessor fieldProcessor) {
+        this.fieldProcessor = fieldProcessor;
+    }
+
+    /**
+     * 收集参数中所有带有加密字段的对象
+     * @param parameter 语句参数
+     * @param plan 语句计划，用于缓存 {@link MapperMethod.ParamMap} 中需要遍历的键
+     * @return 去重后的对象，按遍历顺序排列
+     */
+    List<Object> collect(Object parameter, CryptoPlan plan) throws IllegalAccessException {
+        if (parameter == null || ReflectionUtil.isBasicType(parameter.getClass())) {
+            return Collections.emptyList();
+        }
+        List<Object> targets = new ArrayList<>();
+        Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (parameter instanceof MapperMethod.ParamMap) {
+            Map<?, ?> paramMap = (Map<?, ?>) parameter;
+            for (String key : plan.parameterKeys(paramMap)) {
+                visit(paramMap.get(key), targets, visited);
+            }
+        } else {
+            visit(parameter, targets, visited);
+        }
+        return targets;
+    }
+
+    /**
+     * 预先编译类型路径
+     */
+    void prepare(Class<?> type) {
+        typePath(type);
+    }
+
+    private void visit(Object value, List<Object> targets, Set<Object> visited) throws IllegalAccessException {
+        if (value == null || ReflectionUtil.isBasicType(value.getClass()) || !visited.add(value)) {
+            return;
+        }
+        if (value instanceof Collection) {
+            for (Object element : (Collection<?>) value) {
+                visit(element, targets, visited);
+            }
+            return;
+        }
+        if (value instanceof Object[]) {
+            for (Object element : (Object[]) value) {
+                visit(element, targets, visited);
+            }
+            return;
+        }
+        if (value instanceof Map) {
+            for (Object element : ((Map<?, ?>) value).values()) {
+                visit(element, targets, visited);
+            }
+            return;
+        }
+        if (value instanceof AbstractWrapper) {
+            visit(((AbstractWrapper<?, ?, ?>) value).getEntity(), targets, visited);
+            return;
+        }
+
+        TypePath path = typePath(value.getClass());
+        if (path.encrypted) {
+            targets.add(value);
+        }
+        for (Field field : path.nestedFields) {
+            visit(field.get(value), targets, visited);
+        }
+    }
+
+    private TypePath typePath(Class<?> type) {
+        TypePath path = typePaths.get(type);
+        if (path == null) {
+            path = compile(type, Collections.newSetFromMap(new IdentityHashMap<>()));
+        }
+        return path;
+    }
+
+    /**
+     * 编译类型路径：自身是否有加密字段，以及哪些字段可能嵌套了加密对象
+     */
+    private TypePath compile(Class<?> type, Set<Class<?>> compiling) {
+        TypePath cached = typePaths.get(type);
+        if (cached != null) {
+            return cached;
+        }
+        if (isOpaque(type)) {
+            return NONE;
+        }
+        compiling.add(type);
+
+        boolean encrypted = !fieldProcessor.getEncryptedFields(type).isEmpty();
+        List<Field> nestedFields = new ArrayList<>();
+        for (Field field : ReflectionUtil.getAllFields(type)) {
+            if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                continue;
+            }
+            Class<?> candidate = nestedType(field);
+            if (candidate == null || compiling.contains(candidate) || compile(candidate, compiling) != NONE) {
+                field.setAccessible(true);
+                nestedFields.add(field);
+            }
+        }
+        compiling.remove(type);
+
+        TypePath path = encrypted || !nestedFields.isEmpty() ? new TypePath(encrypted, nestedFields) : NONE;
+        typePaths.put(type, path);
+        return path;
+    }
+
+    /**
+     * 字段中可能嵌套的对象类型，集合与数组取元素类型
+     * @return 元素类型，无法静态确定时返回null（运行时再判断）
+     */
+    private Class<?> nestedType(Field field) {
+        Class<?> type = field.getType();
+        if (type.isArray()) {
+            return type.getComponentType().isPrimitive() ? String.class : type.getComponentType();
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            Type generic = field.getGenericType();
+            if (generic instanceof ParameterizedType) {
+                Type element = ((ParameterizedType) generic).getActualTypeArguments()[0];
+                if (element instanceof Class) {
+                    return (Class<?>) element;
+                }
+            }
+            return null;
+        }
+        if (type == Object.class || type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            return isOpaque(type) ? String.class : null;
+        }
+        return type;
+    }
+
+    /**
+     * 基础类型、枚举与JDK类型不会包含加密字段
+     */
+    private boolean isOpaque(Class<?> type) {
+        if (ReflectionUtil.isBasicType(type) || type.isEnum() || type.isPrimitive()) {
+            return true;
+        }
+        String name = type.getName();
+        return (name.startsWith("java.") || name.startsWith("javax.")) && type != Object.class;
+    }
+
+    /**
+     * 类型路径
+     */
+    private static class TypePath {
+
+        private final boolean encrypted;
+        private final List<Field> nestedFields;
+
+        private TypePath(boolean encrypted, List<Field> nestedFields) {
+            this.encrypted = encrypted;
+            this.nestedFields = nestedFields;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.cqcloud.platform.interceptor;
+
+import com.cqcloud.platform.manager.EncryptionManager;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.reflection.ExceptionUtil;
+import org.springframework.core.NativeDetector;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 结果集解密器
+ * 包装 {@link Statement} 返回的 {@link ResultSet}，读取加密列时直接返回明文，
+ * MyBatis创建实体时拿到的就是明文，不再需要事后通过反射逐个字段改写
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+@Slf4j
+final class ResultSetDecryptor {
+
+    private ResultSetDecryptor() {
+    }
+
+    /**
+     * 包装语句，使其返回的结果集按列解密
+     * @param statement 原始语句
+     * @param columnKeys 结果列标签（归一化）-> 密钥ID
+     * @param encryptionManager 加密管理器
+     */
+    static Statement wrap(Statement statement, Map<String, String> columnKeys, EncryptionManager encryptionManager) {
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(),
+                interfacesOf(statement.getClass()),
+                new StatementHandler(statement, columnKeys, encryptionManager));
+    }
+
+    private static Class<?>[] interfacesOf(Class<?> type) {
+        if (NativeDetector.inNativeImage()) {
+            // 原生镜像只能使用构建时注册的代理接口组合
+            return new Class<?>[]{standardInterfaceOf(type)};
+        }
+        Set<Class<?>> interfaces = new LinkedHashSet<>();
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            for (Class<?> candidate : current.getInterfaces()) {
+                if (Statement.class.isAssignableFrom(candidate)) {
+                    interfaces.add(candidate);
+                }
+            }
+        }
+        interfaces.add(Statement.class);
+        return interfaces.toArray(new Class<?>[0]);
+    }
+
+    private static Class<?> standardInterfaceOf(Class<?> type) {
+        if (CallableStatement.class.isAssignableFrom(type)) {
+            return CallableStatement.class;
+        }
+        return PreparedStatement.class.isAssignableFrom(type) ? PreparedStatement.class : Statement.class;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (Exception e) {
+            throw ExceptionUtil.unwrapThrowable(e);
+        }
+    }
+
+    /**
+     * 语句代理，只替换 getResultSet
+     */
+    private static class StatementHandler implements InvocationHandler {
+
+        private final Statement statement;
+        private final Map<String, String> columnKeys;
+        private final EncryptionManager encryptionManager;
+
+        private StatementHandler(Statement statement, Map<String, String> columnKeys,
+                                 EncryptionManager encryptionManager) {
+            this.statement = statement;
+            this.columnKeys = columnKeys;
+            this.encryptionManager = encryptionManager;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = ResultSetDecryptor.invoke(statement, method, args);
+            if (result instanceof ResultSet && "getResultSet".equals(method.getName())) {
+                return Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                        new ResultSetHandler((ResultSet) result, columnKeys, encryptionManager));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * 结果集代理，按列标签解密 getString 的返回值
+     */
+    private static class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet resultSet;
+        private final Map<String, String> columnKeys;
+        private final EncryptionManager encryptionManager;
+
+        /**
+         * 列序号 -> 密钥ID，首次按序号读取时根据元数据解析
+         */
+        private String[] indexKeys;
+
+        private ResultSetHandler(ResultSet resultSet, Map<String, String> columnKeys,
+                                 EncryptionManager encryptionManager) {
+            this.resultSet = resultSet;
+            this.columnKeys = columnKeys;
+            this.encryptionManager = encryptionManager;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = ResultSetDecryptor.invoke(resultSet, method, args);
+            if (result instanceof String && "getString".equals(method.getName())) {
+                String keyId = args[0] instanceof Integer
+                        ? keyOf((Integer) args[0])
+                        : columnKeys.get(SelectProjection.normalize((String) args[0]));
+                if (keyId != null) {
+                    return decrypt((String) result, keyId);
+                }
+            }
+            return result;
+        }
+
+        private String keyOf(int columnIndex) throws SQLException {
+            if (indexKeys == null) {
+                ResultSetMetaData metaData = resultSet.getMetaData();
+                String[] keys = new String[metaData.getColumnCount() + 1];
+                for (int i = 1; i < keys.length; i++) {
+                    keys[i] = columnKeys.get(SelectProjection.normalize(metaData.getColumnLabel(i)));
+                }
+                indexKeys = keys;
+            }
+            return columnIndex < indexKeys.length ? indexKeys[columnIndex] : null;
+        }
+
+        private String decrypt(String value, String keyId) {
+            try {
+                return encryptionManager.decrypt(value, keyId);
+            } catch (Exception e) {
+                log.error("解密结果列失败", e);
+                return value;
+            }
+        }
+    }
+}
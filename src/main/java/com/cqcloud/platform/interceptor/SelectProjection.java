@@ -0,0 +1,218 @@
+package com.cqcloud.platform.interceptor;
+
+import com.baomidou.mybatisplus.annotation.TableField;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.ResultMapping;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 查询投影
+ * 解析SELECT列表中的列标签，只有被查询出来的加密字段才需要解密；
+ * 无法确定投影（如 {@code SELECT *}、不以SELECT开头的WITH或括号语句、带注释或提示的选择列表、解析失败）时退化为解密全部加密字段
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+class SelectProjection {
+
+    /**
+     * 投影未知，解密全部加密字段
+     */
+    static final SelectProjection ALL = new SelectProjection(null);
+
+    /**
+     * 归一化后的列标签（去掉下划线、引号并转小写），为null表示全部
+     */
+    private final Set<String> labels;
+
+    /**
+     * 结果类型 -> 需要解密的字段
+     */
+    private final Map<Class<?>, List<Field>> fieldsByType = new ConcurrentHashMap<>();
+
+    private SelectProjection(Set<String> labels) {
+        this.labels = labels;
+    }
+
+    /**
+     * 根据语句的SQL与结果映射解析投影
+     */
+    static SelectProjection of(MappedStatement ms, String sql) {
+        List<String> columns = parseSelectList(sql);
+        if (columns == null) {
+            return ALL;
+        }
+        Set<String> labels = new HashSet<>();
+        for (String column : columns) {
+            labels.add(normalize(column));
+        }
+        // 显式结果映射的列名映射到属性名
+        for (ResultMap resultMap : ms.getResultMaps()) {
+            for (ResultMapping mapping : resultMap.getResultMappings()) {
+                if (mapping.getColumn() != null && mapping.getProperty() != null
+                        && labels.contains(normalize(mapping.getColumn()))) {
+                    labels.add(normalize(mapping.getProperty()));
+                }
+            }
+        }
+        return new SelectProjection(labels);
+    }
+
+    /**
+     * 从结果类型的全部加密字段中筛选出被查询的字段
+     */
+    List<Field> select(Class<?> type, List<Field> encryptedFields) {
+        if (labels == null) {
+            return encryptedFields;
+        }
+        return fieldsByType.computeIfAbsent(type, key -> {
+            List<Field> selected = new ArrayList<>(encryptedFields.size());
+            for (Field field : encryptedFields) {
+                if (isSelected(field)) {
+                    selected.add(field);
+                }
+            }
+            return selected.isEmpty() ? Collections.emptyList() : selected;
+        });
+    }
+
+    private boolean isSelected(Field field) {
+        if (labels.contains(normalize(field.getName()))) {
+            return true;
+        }
+        TableField tableField = field.getAnnotation(TableField.class);
+        return tableField != null && !tableField.value().isEmpty()
+                && labels.contains(normalize(tableField.value()));
+    }
+
+    /**
+     * 解析顶层SELECT列表的列标签，只解析以SELECT开头（允许前导空白与注释）的语句
+     * @return 列标签，包含通配符、注释或无法解析时返回null
+     */
+    static List<String> parseSelectList(String sql) {
+        String lower = sql.toLowerCase(Locale.ROOT);
+        int start = skipLeadingComments(lower);
+        if (start < 0 || !isKeywordAt(lower, "select", start)) {
+            return null;
+        }
+        start += "select".length();
+        int depth = 0;
+        int itemStart = start;
+        List<String> columns = new ArrayList<>();
+        for (int i = start; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (c == '\'' || c == '"' || c == '`') {
+                int close = lower.indexOf(c, i + 1);
+                if (close < 0) {
+                    return null;
+                }
+                i = close;
+            } else if (c == '/' && lower.startsWith("/*", i) || c == '-' && lower.startsWith("--", i)) {
+                // 提示与注释中可能包含逗号或关键字
+                return null;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (depth == 0 && c == ',') {
+                if (!addLabel(columns, sql.substring(itemStart, i))) {
+                    return null;
+                }
+                itemStart = i + 1;
+            } else if (depth == 0 && isKeywordAt(lower, "from", i)) {
+                return addLabel(columns, sql.substring(itemStart, i)) ? columns : null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 提取单个选择项的标签：别名、或去掉表前缀的列名
+     */
+    private static boolean addLabel(List<String> columns, String item) {
+        String trimmed = item.trim();
+        if (trimmed.isEmpty() || trimmed.equals("*") || trimmed.endsWith(".*")) {
+            return false;
+        }
+        String lower = trimmed.toLowerCase(Locale.ROOT);
+        if (lower.startsWith("distinct ")) {
+            trimmed = trimmed.substring("distinct ".length()).trim();
+            lower = lower.substring("distinct ".length()).trim();
+        }
+        int as = lower.lastIndexOf(" as ");
+        String label;
+        if (as >= 0) {
+            label = trimmed.substring(as + 4).trim();
+        } else {
+            int space = Math.max(trimmed.lastIndexOf(' '), trimmed.lastIndexOf(')'));
+            label = space >= 0 ? trimmed.substring(space + 1).trim() : trimmed;
+            int dot = label.lastIndexOf('.');
+            if (dot >= 0) {
+                label = label.substring(dot + 1);
+            }
+        }
+        if (label.isEmpty()) {
+            return false;
+        }
+        columns.add(label);
+        return true;
+    }
+
+    /**
+     * 跳过语句开头的空白与注释
+     * @return 第一个有效字符的位置，注释未闭合或为优化器提示（以 {@code /*+} 开头）时返回-1
+     */
+    private static int skipLeadingComments(String lower) {
+        int i = 0;
+        while (i < lower.length()) {
+            if (Character.isWhitespace(lower.charAt(i))) {
+                i++;
+            } else if (lower.startsWith("--", i)) {
+                int end = lower.indexOf('\n', i);
+                i = end < 0 ? lower.length() : end + 1;
+            } else if (lower.startsWith("/*", i)) {
+                int end = lower.indexOf("*/", i + 2);
+                if (end < 0 || lower.startsWith("/*+", i)) {
+                    return -1;
+                }
+                i = end + 2;
+            } else {
+                break;
+            }
+        }
+        return i;
+    }
+
+    private static boolean isKeywordAt(String lower, String keyword, int index) {
+        if (!lower.startsWith(keyword, index)) {
+            return false;
+        }
+        int end = index + keyword.length();
+        return (index == 0 || !isIdentifierChar(lower.charAt(index - 1)))
+                && (end == lower.length() || !isIdentifierChar(lower.charAt(end)));
+    }
+
+    private static boolean isIdentifierChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+
+    static String normalize(String name) {
+        StringBuilder builder = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c != '_' && c != '`' && c != '"' && c != '\'') {
+                builder.append(Character.toLowerCase(c));
+            }
+        }
+        return builder.toString();
+    }
+}
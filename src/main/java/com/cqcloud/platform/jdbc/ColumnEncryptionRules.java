@@ -0,0 +1,128 @@
+package com.cqcloud.platform.jdbc;
+
+import com.cqcloud.platform.config.EncryptionProperties;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 加密列规则
+ * 按 表.列 配置密钥与算法；每条SQL只解析一次，解析结果（参数序号与结果列标签对应的加密列）按SQL文本缓存。
+ * 默认拒绝执行无法确定加密列参数的写入语句，开启仅告警后按未加密处理
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+public class ColumnEncryptionRules {
+
+    /**
+     * 表名 -> 列名 -> 密钥（均为归一化后的小写名称）
+     */
+    private final Map<String, Map<String, ColumnKey>> tables = new HashMap<>();
+    private final Cache<String, SqlColumns> statements;
+    private final boolean unmappedWriteWarnOnly;
+
+    public ColumnEncryptionRules(List<EncryptionProperties.ColumnConfig> columns, long sqlCacheSize) {
+        this(columns, sqlCacheSize, false);
+    }
+
+    public ColumnEncryptionRules(List<EncryptionProperties.ColumnConfig> columns, long sqlCacheSize,
+                                 boolean unmappedWriteWarnOnly) {
+        for (EncryptionProperties.ColumnConfig column : columns) {
+            if (column.getTable() == null || column.getColumn() == null) {
+                throw new IllegalArgumentException("加密列规则缺少表名或列名: " + column);
+            }
+            tables.computeIfAbsent(normalize(column.getTable()), key -> new HashMap<>())
+                    .put(normalize(column.getColumn()), new ColumnKey(column.getKeyId(), column.getAlgorithm()));
+        }
+        this.statements = CacheBuilder.newBuilder()
+                .maximumSize(sqlCacheSize)
+                .build();
+        this.unmappedWriteWarnOnly = unmappedWriteWarnOnly;
+    }
+
+    public boolean isEmpty() {
+        return tables.isEmpty();
+    }
+
+    /**
+     * 无法确定加密列参数的写入语句是否只告警、按未加密执行
+     */
+    boolean isUnmappedWriteWarnOnly() {
+        return unmappedWriteWarnOnly;
+    }
+
+    /**
+     * 获取SQL涉及的加密列，首次出现时解析
+     */
+    SqlColumns columns(String sql) {
+        SqlColumns columns = statements.getIfPresent(sql);
+        if (columns == null) {
+            columns = SqlColumns.parse(sql, this);
+            statements.put(sql, columns);
+        }
+        return columns;
+    }
+
+    /**
+     * 获取加密列的密钥，未配置时返回null
+     */
+    ColumnKey key(String table, String column) {
+        Map<String, ColumnKey> columns = tables.get(normalize(table));
+        return columns != null ? columns.get(normalize(column)) : null;
+    }
+
+    /**
+     * 获取表的全部加密列
+     */
+    Map<String, ColumnKey> columnsOf(String table) {
+        return tables.getOrDefault(normalize(table), Collections.emptyMap());
+    }
+
+    /**
+     * 查找SQL中作为独立单词出现的加密表名，用于无法解析的语句
+     * @return 第一个出现的加密表名，未出现时返回null
+     */
+    String tableIn(String sql) {
+        String lower = normalize(sql.replace('.', ' '));
+        for (String table : tables.keySet()) {
+            int index = lower.indexOf(table);
+            while (index >= 0) {
+                int end = index + table.length();
+                if ((index == 0 || !isWordChar(lower.charAt(index - 1)))
+                        && (end == lower.length() || !isWordChar(lower.charAt(end)))) {
+                    return table;
+                }
+                index = lower.indexOf(table, index + 1);
+            }
+        }
+        return null;
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+
+    /**
+     * 去掉模式名、引号并转小写
+     */
+    static String normalize(String name) {
+        String trimmed = name.trim();
+        int dot = trimmed.lastIndexOf('.');
+        if (dot >= 0) {
+            trimmed = trimmed.substring(dot + 1);
+        }
+        StringBuilder normalized = new StringBuilder(trimmed.length());
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (c != '`' && c != '"' && c != '[' && c != ']') {
+                normalized.append(c);
+            }
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+}
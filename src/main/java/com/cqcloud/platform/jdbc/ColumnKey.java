@@ -0,0 +1,58 @@
+package com.cqcloud.platform.jdbc;
+
+import com.cqcloud.platform.enums.AlgorithmType;
+import com.cqcloud.platform.manager.EncryptionManager;
+import com.cqcloud.platform.strategy.CipherContext;
+
+/**
+ * 加密列绑定的密钥与算法
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+final class ColumnKey {
+
+    private final String keyId;
+    private final AlgorithmType algorithm;
+
+    ColumnKey(String keyId, AlgorithmType algorithm) {
+        this.keyId = keyId;
+        this.algorithm = algorithm;
+    }
+
+    /**
+     * 加密参数值，空值与已加密的值原样返回
+     */
+    String encrypt(String value, EncryptionManager encryptionManager) {
+        if (value == null || value.isEmpty() || AlgorithmType.fromCiphertext(value) != null) {
+            return value;
+        }
+        return cipherContext(encryptionManager).encrypt(value);
+    }
+
+    /**
+     * 解密列值，未加密的历史数据原样返回
+     */
+    String decrypt(String value, EncryptionManager encryptionManager) {
+        if (value == null || AlgorithmType.fromCiphertext(value) == null) {
+            return value;
+        }
+        CipherContext context = cipherContext(encryptionManager);
+        if (context.isEncrypted(value)) {
+            return context.decrypt(value);
+        }
+        // 其他算法的密文交由加密管理器识别
+        return encryptionManager.decrypt(value, keyId(encryptionManager));
+    }
+
+    /**
+     * 上下文由加密管理器创建并缓存，密钥轮换后自动使用新的上下文
+     */
+    private CipherContext cipherContext(EncryptionManager encryptionManager) {
+        return encryptionManager.getCipherContext(keyId(encryptionManager),
+                algorithm != null ? algorithm : encryptionManager.getDefaultAlgorithm());
+    }
+
+    private String keyId(EncryptionManager encryptionManager) {
+        return keyId != null ? keyId : encryptionManager.getDefaultKeyId();
+    }
+}
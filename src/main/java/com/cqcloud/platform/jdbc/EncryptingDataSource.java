@@ -0,0 +1,237 @@
+package com.cqcloud.platform.jdbc;
+
+import com.cqcloud.platform.manager.EncryptionManager;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * 加密数据源代理
+ * 代理 DataSource -> Connection -> Statement -> ResultSet，按 {@link ColumnEncryptionRules} 加密绑定到加密列的
+ * {@code setString}/{@code setNString}/{@code setObject} 字符串参数，并解密加密列的 {@code getString}/{@code getNString}/{@code getObject} 结果；
+ * SQL只在首次出现时解析，不涉及加密列的语句与结果集不会被代理。写入加密表但无法确定加密列参数的语句在预编译或执行前
+ * 抛出 {@link SQLException}，避免明文落库（可配置为仅告警）。只代理标准JDBC接口，驱动特有的接口可通过 unwrap 获取
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+public final class EncryptingDataSource {
+
+    private EncryptingDataSource() {
+    }
+
+    /**
+     * 包装数据源，已包装的数据源原样返回
+     */
+    public static DataSource wrap(DataSource dataSource, ColumnEncryptionRules rules,
+                                  EncryptionManager encryptionManager) {
+        if (isWrapped(dataSource)) {
+            return dataSource;
+        }
+        return (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(), new Class<?>[]{DataSource.class},
+                new DataSourceHandler(dataSource, rules, encryptionManager));
+    }
+
+    public static boolean isWrapped(DataSource dataSource) {
+        return Proxy.isProxyClass(dataSource.getClass())
+                && Proxy.getInvocationHandler(dataSource) instanceof DataSourceHandler;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * 拒绝无法确定加密列参数的写入语句
+     */
+    private static SqlColumns checkMapped(SqlColumns columns) throws SQLException {
+        if (columns.unmapped() != null) {
+            throw new SQLException(columns.unmapped());
+        }
+        return columns;
+    }
+
+    private static ResultSet wrapResultSet(ResultSet resultSet, SqlColumns columns, EncryptionManager encryptionManager) {
+        if (resultSet == null || !columns.hasLabels()) {
+            return resultSet;
+        }
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                new ResultSetHandler(resultSet, columns, encryptionManager));
+    }
+
+    /**
+     * 数据源代理，包装获取到的连接
+     */
+    private static class DataSourceHandler implements InvocationHandler {
+
+        private final DataSource dataSource;
+        private final ColumnEncryptionRules rules;
+        private final EncryptionManager encryptionManager;
+
+        private DataSourceHandler(DataSource dataSource, ColumnEncryptionRules rules,
+                                  EncryptionManager encryptionManager) {
+            this.dataSource = dataSource;
+            this.rules = rules;
+            this.encryptionManager = encryptionManager;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = EncryptingDataSource.invoke(dataSource, method, args);
+            if (result instanceof Connection && "getConnection".equals(method.getName())) {
+                return Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                        new ConnectionHandler((Connection) result, rules, encryptionManager));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * 连接代理，包装涉及加密列的预编译语句，以及普通语句的查询结果
+     */
+    private static class ConnectionHandler implements InvocationHandler {
+
+        private final Connection connection;
+        private final ColumnEncryptionRules rules;
+        private final EncryptionManager encryptionManager;
+
+        private ConnectionHandler(Connection connection, ColumnEncryptionRules rules,
+                                  EncryptionManager encryptionManager) {
+            this.connection = connection;
+            this.rules = rules;
+            this.encryptionManager = encryptionManager;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            SqlColumns columns = ("prepareStatement".equals(name) || "prepareCall".equals(name))
+                    && args != null && args.length > 0 && args[0] instanceof String
+                    ? checkMapped(rules.columns((String) args[0])) : null;
+            Object result = EncryptingDataSource.invoke(connection, method, args);
+            if (result instanceof PreparedStatement && columns != null) {
+                if (columns == SqlColumns.NONE) {
+                    return result;
+                }
+                Class<?> type = result instanceof CallableStatement ? CallableStatement.class : PreparedStatement.class;
+                return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                        new StatementHandler((Statement) result, columns, rules, encryptionManager));
+            }
+            if (result instanceof Statement && "createStatement".equals(name)) {
+                return Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[]{Statement.class},
+                        new StatementHandler((Statement) result, null, rules, encryptionManager));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * 语句代理，加密加密列参数并包装结果集
+     */
+    private static class StatementHandler implements InvocationHandler {
+
+        private final Statement statement;
+        private final ColumnEncryptionRules rules;
+        private final EncryptionManager encryptionManager;
+
+        /**
+         * 预编译语句的加密列；普通语句为最近一次执行的SQL的加密列
+         */
+        private SqlColumns columns;
+
+        private StatementHandler(Statement statement, SqlColumns columns, ColumnEncryptionRules rules,
+                                 EncryptionManager encryptionManager) {
+            this.statement = statement;
+            this.columns = columns != null ? columns : SqlColumns.NONE;
+            this.rules = rules;
+            this.encryptionManager = encryptionManager;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (columns.hasParameters() && args != null && args.length >= 2 && args[0] instanceof Integer
+                    && args[1] instanceof String
+                    && ("setString".equals(name) || "setNString".equals(name) || "setObject".equals(name))) {
+                ColumnKey key = columns.parameter((Integer) args[0]);
+                if (key != null) {
+                    args[1] = key.encrypt((String) args[1], encryptionManager);
+                }
+            } else if (!(statement instanceof PreparedStatement) && args != null && args.length > 0
+                    && args[0] instanceof String) {
+                if (name.startsWith("execute")) {
+                    columns = checkMapped(rules.columns((String) args[0]));
+                } else if ("addBatch".equals(name)) {
+                    checkMapped(rules.columns((String) args[0]));
+                }
+            }
+
+            Object result = EncryptingDataSource.invoke(statement, method, args);
+            if (result instanceof ResultSet && ("executeQuery".equals(name) || "getResultSet".equals(name))) {
+                return wrapResultSet((ResultSet) result, columns, encryptionManager);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * 结果集代理，按列标签解密字符串结果
+     */
+    private static class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet resultSet;
+        private final SqlColumns columns;
+        private final EncryptionManager encryptionManager;
+
+        /**
+         * 列序号 -> 密钥，首次按序号读取时根据元数据解析
+         */
+        private ColumnKey[] indexKeys;
+
+        private ResultSetHandler(ResultSet resultSet, SqlColumns columns, EncryptionManager encryptionManager) {
+            this.resultSet = resultSet;
+            this.columns = columns;
+            this.encryptionManager = encryptionManager;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = EncryptingDataSource.invoke(resultSet, method, args);
+            if (result instanceof String && args != null && args.length == 1) {
+                String name = method.getName();
+                if ("getString".equals(name) || "getNString".equals(name) || "getObject".equals(name)) {
+                    ColumnKey key = args[0] instanceof Integer
+                            ? keyOf((Integer) args[0])
+                            : columns.label((String) args[0]);
+                    if (key != null) {
+                        return key.decrypt((String) result, encryptionManager);
+                    }
+                }
+            }
+            return result;
+        }
+
+        private ColumnKey keyOf(int columnIndex) throws SQLException {
+            if (indexKeys == null) {
+                int count = resultSet.getMetaData().getColumnCount();
+                indexKeys = new ColumnKey[count + 1];
+                for (int i = 1; i <= count; i++) {
+                    indexKeys[i] = columns.label(resultSet.getMetaData().getColumnLabel(i));
+                }
+            }
+            return columnIndex < indexKeys.length ? indexKeys[columnIndex] : null;
+        }
+    }
+}
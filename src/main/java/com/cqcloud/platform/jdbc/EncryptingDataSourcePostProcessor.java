@@ -0,0 +1,55 @@
+package com.cqcloud.platform.jdbc;
+
+import com.cqcloud.platform.config.EncryptionProperties;
+import com.cqcloud.platform.manager.EncryptionManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+
+/**
+ * 加密数据源后置处理器
+ * 将容器中的 DataSource 包装为 {@link EncryptingDataSource}，使 JdbcTemplate 等所有访问方式按列规则透明加解密；
+ * 加密管理器与配置在第一个数据源初始化完成后才获取，避免过早创建
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+@Slf4j
+public class EncryptingDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<EncryptionManager> encryptionManager;
+    private final ObjectProvider<EncryptionProperties> properties;
+    private volatile ColumnEncryptionRules rules;
+
+    public EncryptingDataSourcePostProcessor(ObjectProvider<EncryptionManager> encryptionManager,
+                                             ObjectProvider<EncryptionProperties> properties) {
+        this.encryptionManager = encryptionManager;
+        this.properties = properties;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource) || EncryptingDataSource.isWrapped((DataSource) bean)) {
+            return bean;
+        }
+        ColumnEncryptionRules columnRules = rules();
+        if (columnRules.isEmpty()) {
+            return bean;
+        }
+        log.info("包装加密数据源: {}", beanName);
+        return EncryptingDataSource.wrap((DataSource) bean, columnRules, encryptionManager.getObject());
+    }
+
+    private ColumnEncryptionRules rules() {
+        ColumnEncryptionRules columnRules = rules;
+        if (columnRules == null) {
+            EncryptionProperties encryptionProperties = properties.getObject();
+            columnRules = new ColumnEncryptionRules(encryptionProperties.getDataSourceColumns(),
+                    encryptionProperties.getDataSourceSqlCacheSize(),
+                    encryptionProperties.isDataSourceUnmappedWriteWarnOnly());
+            rules = columnRules;
+        }
+        return columnRules;
+    }
+}
@@ -0,0 +1,579 @@
+package com.cqcloud.platform.jdbc;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * SQL涉及的加密列
+ * 解析 INSERT ... VALUES [ON DUPLICATE KEY UPDATE ... | ON CONFLICT ... DO UPDATE SET ...] 与 UPDATE ... SET 中绑定到加密列的参数序号，
+ * 以及 SELECT 列表中来自加密列的结果列标签；WHERE 条件中的参数不加密（随机IV的密文无法做等值匹配）。
+ * 写入配置了加密列的表、但无法确定参数对应列的语句（如省略列名的INSERT、INSERT ... SELECT、MERGE，加密列的值是字面量或包含参数的表达式）
+ * 解析为未映射写入，由数据源代理拒绝执行；开启仅告警时按未加密处理并输出告警，每条SQL只解析一次，因此只告警一次
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+@Slf4j
+final class SqlColumns {
+
+    static final SqlColumns NONE = new SqlColumns(Collections.emptyMap(), Collections.emptyMap());
+
+    private static final Pattern COLUMN_ITEM = Pattern.compile(
+            "^([\\w`\"\\[\\]]+(?:\\.[\\w`\"\\[\\]]+)*)(?:\\s+(?:as\\s+)?([\\w`\"\\[\\]]+))?$",
+            Pattern.CASE_INSENSITIVE);
+    private static final String[] FROM_END = {"where", "group", "order", "having", "limit", "union", "offset",
+            "fetch", "for", "window"};
+    private static final String IDENTIFIER = "(?:[a-z_][\\w$]*|`[^`]+`|\"[a-z_][^\"]*\"|\\[[^\\]]+\\])";
+    /**
+     * 不写入明文的赋值：NULL、DEFAULT、列引用（如 EXCLUDED.c1）与 VALUES(c1)
+     */
+    private static final Pattern PASS_THROUGH = Pattern.compile(
+            "^(?:values\\s*\\(\\s*" + IDENTIFIER + "\\s*\\)|" + IDENTIFIER + "(?:\\." + IDENTIFIER + ")*)$",
+            Pattern.CASE_INSENSITIVE);
+    private static final String[] JOIN_WORDS = {"left", "right", "inner", "outer", "full", "cross", "natural",
+            "straight_join", "lateral"};
+
+    /**
+     * 参数序号（从1开始）-> 密钥
+     */
+    private final Map<Integer, ColumnKey> parameters;
+
+    /**
+     * 结果列标签（小写）-> 密钥
+     */
+    private final Map<String, ColumnKey> labels;
+
+    /**
+     * 未映射写入的说明，能确定全部加密列参数时为null
+     */
+    private final String unmapped;
+
+    private SqlColumns(Map<Integer, ColumnKey> parameters, Map<String, ColumnKey> labels) {
+        this(parameters, labels, null);
+    }
+
+    private SqlColumns(Map<Integer, ColumnKey> parameters, Map<String, ColumnKey> labels, String unmapped) {
+        this.parameters = parameters;
+        this.labels = labels;
+        this.unmapped = unmapped;
+    }
+
+    ColumnKey parameter(int index) {
+        return parameters.get(index);
+    }
+
+    ColumnKey label(String label) {
+        return labels.get(label.toLowerCase(Locale.ROOT));
+    }
+
+    boolean hasParameters() {
+        return !parameters.isEmpty();
+    }
+
+    boolean hasLabels() {
+        return !labels.isEmpty();
+    }
+
+    /**
+     * 写入加密表但无法确定加密列参数时返回说明，否则返回null
+     */
+    String unmapped() {
+        return unmapped;
+    }
+
+    static SqlColumns parse(String sql, ColumnEncryptionRules rules) {
+        SqlColumns columns = parseStatement(sql, rules);
+        if (columns.unmapped != null && rules.isUnmappedWriteWarnOnly()) {
+            log.warn("加密列参数将以明文写入，{}", columns.unmapped);
+            return NONE;
+        }
+        return columns;
+    }
+
+    private static SqlColumns parseStatement(String sql, ColumnEncryptionRules rules) {
+        if (sql == null || rules.isEmpty()) {
+            return NONE;
+        }
+        try {
+            String statement = sql.trim();
+            int space = indexOfWhitespace(statement, 0);
+            String command = (space < 0 ? statement : statement.substring(0, space)).toLowerCase(Locale.ROOT);
+            switch (command) {
+                case "insert":
+                case "replace":
+                    return parseInsert(statement, rules);
+                case "update":
+                    return parseUpdate(statement, rules);
+                case "merge":
+                case "upsert":
+                    return parseMerge(statement, rules);
+                case "select":
+                    return parseSelect(statement, rules);
+                default:
+                    return NONE;
+            }
+        } catch (RuntimeException e) {
+            if (sql.trim().regionMatches(true, 0, "select", 0, 6)) {
+                log.debug("无法解析SQL中的加密列，结果不解密: {}", sql, e);
+                return NONE;
+            }
+            String table = rules.tableIn(sql);
+            if (table == null) {
+                log.debug("无法解析SQL中的加密列，语句未涉及加密表: {}", sql, e);
+                return NONE;
+            }
+            log.debug("无法解析SQL中的加密列: {}", sql, e);
+            return unmapped(sql, table, "SQL解析失败");
+        }
+    }
+
+    /**
+     * 写入配置了加密列的表、但无法确定参数对应列的语句
+     */
+    private static SqlColumns unmapped(String sql, String table, String reason) {
+        return new SqlColumns(Collections.emptyMap(), Collections.emptyMap(),
+                "SQL写入加密表 " + table + " 但" + reason + ": " + sql);
+    }
+
+    /**
+     * MERGE INTO t ... / UPSERT INTO t ...，不解析，写入加密表时告警
+     */
+    private static SqlColumns parseMerge(String sql, ColumnEncryptionRules rules) {
+        int into = indexOfKeyword(sql, "into", 0);
+        if (into < 0) {
+            return NONE;
+        }
+        int tableStart = skipWhitespace(sql, into + 4);
+        int tableEnd = tableEnd(sql, tableStart);
+        String table = sql.substring(tableStart, tableEnd);
+        return rules.columnsOf(table).isEmpty() ? NONE : unmapped(sql, table, "不支持解析MERGE语句");
+    }
+
+    /**
+     * INSERT INTO t (c1, c2) VALUES (?, ?)[, (?, ?)] [ON DUPLICATE KEY UPDATE c1 = ?]
+     */
+    private static SqlColumns parseInsert(String sql, ColumnEncryptionRules rules) {
+        int into = indexOfKeyword(sql, "into", 0);
+        if (into < 0) {
+            return NONE;
+        }
+        int tableStart = skipWhitespace(sql, into + 4);
+        String table = sql.substring(tableStart, tableEnd(sql, tableStart));
+        if (rules.columnsOf(table).isEmpty()) {
+            return NONE;
+        }
+        int columnsStart = skipWhitespace(sql, tableStart + table.length());
+        int valuesKeyword = indexOfKeyword(sql, "values", tableStart);
+        if (columnsStart >= sql.length() || sql.charAt(columnsStart) != '(') {
+            return unmapped(sql, table, "未指定列名");
+        }
+        int columnsEnd = matchingParen(sql, columnsStart);
+        List<String> columns = splitTopLevel(sql.substring(columnsStart + 1, columnsEnd));
+
+        List<ColumnKey> keys = new ArrayList<>(columns.size());
+        boolean any = false;
+        for (String column : columns) {
+            ColumnKey key = rules.key(table, column);
+            keys.add(key);
+            any |= key != null;
+        }
+        if (!any && indexOfKeyword(sql, "on", columnsEnd + 1) < 0) {
+            return NONE;
+        }
+        if (valuesKeyword < 0) {
+            return any ? unmapped(sql, table, "不是INSERT ... VALUES形式") : NONE;
+        }
+
+        Map<Integer, ColumnKey> parameters = new HashMap<>();
+        int position = skipWhitespace(sql, valuesKeyword + "values".length());
+        int counter = countParameters(sql, 0, position);
+        while (position < sql.length() && sql.charAt(position) == '(') {
+            int tupleEnd = matchingParen(sql, position);
+            List<String> values = splitTopLevel(sql.substring(position + 1, tupleEnd));
+            for (int i = 0; i < values.size(); i++) {
+                String value = values.get(i);
+                int count = countParameters(value, 0, value.length());
+                if (i < keys.size() && keys.get(i) != null) {
+                    String reason = checkValue(columns.get(i), value, count);
+                    if (reason != null) {
+                        return unmapped(sql, table, reason);
+                    }
+                    if (count > 0) {
+                        parameters.put(counter + 1, keys.get(i));
+                    }
+                }
+                counter += count;
+            }
+            position = skipWhitespace(sql, tupleEnd + 1);
+            if (position < sql.length() && sql.charAt(position) == ',') {
+                position = skipWhitespace(sql, position + 1);
+            }
+        }
+
+        int on = indexOfKeyword(sql, "on", position);
+        if (on >= 0) {
+            String reason = parseOnClause(sql, on + "on".length(), table, rules, parameters);
+            if (reason != null) {
+                return unmapped(sql, table, reason);
+            }
+        }
+        return parameters.isEmpty() ? NONE : new SqlColumns(parameters, Collections.emptyMap());
+    }
+
+    /**
+     * MySQL: ON DUPLICATE KEY UPDATE c1 = ?, c2 = VALUES(c2)
+     * PostgreSQL: ON CONFLICT [(c) | ON CONSTRAINT name] DO UPDATE SET c1 = ? [WHERE ...] | DO NOTHING，可带 RETURNING
+     * @return 无法确定加密列参数的原因，全部可确定时返回null
+     */
+    private static String parseOnClause(String sql, int start, String table, ColumnEncryptionRules rules,
+                                        Map<Integer, ColumnKey> parameters) {
+        String lower = sql.toLowerCase(Locale.ROOT);
+        int keyword = skipWhitespace(sql, start);
+        if (lower.startsWith("duplicate", keyword)) {
+            int update = indexOfKeyword(sql, "update", keyword);
+            if (update < 0) {
+                return "不支持解析 ON 子句";
+            }
+            return parseAssignments(sql, update + "update".length(), sql.length(), table, rules, parameters);
+        }
+        if (!lower.startsWith("conflict", keyword)) {
+            return "不支持解析 ON 子句";
+        }
+        int action = indexOfKeyword(sql, "do", keyword);
+        if (action < 0) {
+            return "不支持解析 ON CONFLICT 子句";
+        }
+        action = skipWhitespace(sql, action + "do".length());
+        if (lower.startsWith("nothing", action)) {
+            return null;
+        }
+        int set = indexOfKeyword(sql, "set", action);
+        if (!lower.startsWith("update", action) || set < 0) {
+            return "不支持解析 ON CONFLICT 子句";
+        }
+        int setStart = set + "set".length();
+        int end = sql.length();
+        for (String clause : new String[]{"where", "returning"}) {
+            int index = indexOfKeyword(sql, clause, setStart);
+            if (index >= 0 && index < end) {
+                end = index;
+            }
+        }
+        return parseAssignments(sql, setStart, end, table, rules, parameters);
+    }
+
+    /**
+     * UPDATE t [alias] SET c1 = ?, c2 = ? [WHERE ...]
+     */
+    private static SqlColumns parseUpdate(String sql, ColumnEncryptionRules rules) {
+        int tableStart = skipWhitespace(sql, "update".length());
+        int tableEnd = indexOfWhitespace(sql, tableStart);
+        int set = indexOfKeyword(sql, "set", tableStart);
+        if (tableEnd < 0 || set < 0) {
+            return NONE;
+        }
+        String table = sql.substring(tableStart, tableEnd);
+        if (rules.columnsOf(table).isEmpty()) {
+            return NONE;
+        }
+        int setStart = set + "set".length();
+        int where = indexOfKeyword(sql, "where", setStart);
+        Map<Integer, ColumnKey> parameters = new HashMap<>();
+        String reason = parseAssignments(sql, setStart, where < 0 ? sql.length() : where, table, rules, parameters);
+        if (reason != null) {
+            return unmapped(sql, table, reason);
+        }
+        return parameters.isEmpty() ? NONE : new SqlColumns(parameters, Collections.emptyMap());
+    }
+
+    /**
+     * 解析 c1 = ?, c2 = ? 形式的赋值列表，加密列的参数序号写入parameters
+     * @return 无法确定加密列参数的原因，全部可确定时返回null
+     */
+    private static String parseAssignments(String sql, int start, int end, String table,
+                                           ColumnEncryptionRules rules, Map<Integer, ColumnKey> parameters) {
+        int counter = countParameters(sql, 0, start);
+        for (String assignment : splitTopLevel(sql.substring(start, end))) {
+            int equals = assignment.indexOf('=');
+            int count = countParameters(assignment, 0, assignment.length());
+            if (equals > 0) {
+                String column = assignment.substring(0, equals);
+                ColumnKey key = rules.key(table, column);
+                if (key != null) {
+                    String reason = checkValue(column, assignment.substring(equals + 1), count);
+                    if (reason != null) {
+                        return reason;
+                    }
+                    if (count > 0) {
+                        parameters.put(counter + 1, key);
+                    }
+                }
+            }
+            counter += count;
+        }
+        return null;
+    }
+
+    /**
+     * 加密列的值只能是单个参数，或NULL、DEFAULT、列引用等不写入明文的值
+     * @return 值会以明文写入时返回原因，否则返回null
+     */
+    private static String checkValue(String column, String value, int parameterCount) {
+        String trimmed = value.trim();
+        if (parameterCount > 0) {
+            return "?".equals(trimmed) ? null : "加密列 " + column.trim() + " 的值不是单个参数";
+        }
+        return PASS_THROUGH.matcher(trimmed).matches() ? null : "加密列 " + column.trim() + " 的值是字面量或表达式";
+    }
+
+    /**
+     * SELECT c1, t.c2 AS x, t.* FROM t [alias] [JOIN ...]
+     */
+    private static SqlColumns parseSelect(String sql, ColumnEncryptionRules rules) {
+        int from = indexOfKeyword(sql, "from", 0);
+        if (from < 0) {
+            return NONE;
+        }
+        Map<String, String> tables = parseFrom(sql, from + "from".length(), rules);
+        if (tables.isEmpty()) {
+            return NONE;
+        }
+
+        Map<String, ColumnKey> labels = new HashMap<>();
+        String selectList = sql.substring("select".length(), from).trim();
+        if (selectList.regionMatches(true, 0, "distinct ", 0, 9)) {
+            selectList = selectList.substring(9);
+        }
+        for (String item : splitTopLevel(selectList)) {
+            String trimmed = item.trim();
+            if ("*".equals(trimmed)) {
+                tables.values().forEach(table -> labels.putAll(rules.columnsOf(table)));
+                continue;
+            }
+            if (trimmed.endsWith(".*")) {
+                String table = tables.get(ColumnEncryptionRules.normalize(trimmed.substring(0, trimmed.length() - 2)));
+                if (table != null) {
+                    labels.putAll(rules.columnsOf(table));
+                }
+                continue;
+            }
+            Matcher matcher = COLUMN_ITEM.matcher(trimmed);
+            if (!matcher.matches()) {
+                continue;
+            }
+            String reference = matcher.group(1);
+            int dot = reference.lastIndexOf('.');
+            ColumnKey key = null;
+            if (dot > 0) {
+                String table = tables.get(ColumnEncryptionRules.normalize(reference.substring(0, dot)));
+                key = table != null ? rules.key(table, reference.substring(dot + 1)) : null;
+            } else {
+                for (String table : tables.values()) {
+                    key = rules.key(table, reference);
+                    if (key != null) {
+                        break;
+                    }
+                }
+            }
+            if (key != null) {
+                String label = matcher.group(2) != null ? matcher.group(2) : reference;
+                labels.put(ColumnEncryptionRules.normalize(label), key);
+            }
+        }
+        return labels.isEmpty() ? NONE : new SqlColumns(Collections.emptyMap(), labels);
+    }
+
+    /**
+     * 解析FROM子句中配置了加密列的表
+     * @return 别名或表名 -> 表名
+     */
+    private static Map<String, String> parseFrom(String sql, int start, ColumnEncryptionRules rules) {
+        int end = sql.length();
+        for (String keyword : FROM_END) {
+            int index = indexOfKeyword(sql, keyword, start);
+            if (index >= 0 && index < end) {
+                end = index;
+            }
+        }
+        Map<String, String> tables = new LinkedHashMap<>();
+        for (String part : splitTopLevel(sql.substring(start, end))) {
+            for (String segment : splitKeyword(part, "join")) {
+                int on = indexOfKeyword(segment, "on", 0);
+                int using = indexOfKeyword(segment, "using", 0);
+                int cut = on >= 0 ? on : using >= 0 ? using : segment.length();
+                String[] words = segment.substring(0, cut).trim().split("\\s+");
+                if (words.length == 0 || words[0].isEmpty() || words[0].startsWith("(")) {
+                    continue;
+                }
+                String table = ColumnEncryptionRules.normalize(words[0]);
+                if (rules.columnsOf(table).isEmpty()) {
+                    continue;
+                }
+                tables.put(table, table);
+                int aliasIndex = words.length > 2 && "as".equalsIgnoreCase(words[1]) ? 2 : 1;
+                if (words.length > aliasIndex && !isJoinWord(words[aliasIndex])) {
+                    tables.put(ColumnEncryptionRules.normalize(words[aliasIndex]), table);
+                }
+            }
+        }
+        return tables;
+    }
+
+    private static boolean isJoinWord(String word) {
+        for (String joinWord : JOIN_WORDS) {
+            if (joinWord.equalsIgnoreCase(word)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 在括号与引号之外按逗号拆分
+     */
+    private static List<String> splitTopLevel(String text) {
+        List<String> parts = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\'' || c == '"' || c == '`') {
+                i = skipQuoted(text, i);
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                parts.add(text.substring(start, i));
+                start = i + 1;
+            }
+        }
+        parts.add(text.substring(start));
+        return parts;
+    }
+
+    /**
+     * 在括号与引号之外按关键字拆分
+     */
+    private static List<String> splitKeyword(String text, String keyword) {
+        List<String> parts = new ArrayList<>();
+        int start = 0;
+        int index;
+        while ((index = indexOfKeyword(text, keyword, start)) >= 0) {
+            parts.add(text.substring(start, index));
+            start = index + keyword.length();
+        }
+        parts.add(text.substring(start));
+        return parts;
+    }
+
+    /**
+     * 查找括号与引号之外、作为独立单词出现的关键字（忽略大小写）
+     */
+    private static int indexOfKeyword(String text, String keyword, int from) {
+        int depth = 0;
+        for (int i = from; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\'' || c == '"' || c == '`') {
+                i = skipQuoted(text, i);
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (depth == 0 && text.regionMatches(true, i, keyword, 0, keyword.length())
+                    && (i == 0 || !isWordChar(text.charAt(i - 1)))
+                    && (i + keyword.length() == text.length() || !isWordChar(text.charAt(i + keyword.length())))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 统计引号之外的参数占位符数量
+     */
+    private static int countParameters(String text, int from, int to) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c == '\'' || c == '"' || c == '`') {
+                i = skipQuoted(text, i);
+            } else if (c == '?') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int matchingParen(String text, int open) {
+        int depth = 0;
+        for (int i = open; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\'' || c == '"' || c == '`') {
+                i = skipQuoted(text, i);
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("括号不匹配");
+    }
+
+    /**
+     * 跳过引号包围的内容，返回结束引号的位置
+     */
+    private static int skipQuoted(String text, int start) {
+        char quote = text.charAt(start);
+        for (int i = start + 1; i < text.length(); i++) {
+            if (text.charAt(i) == quote) {
+                if (i + 1 < text.length() && text.charAt(i + 1) == quote) {
+                    i++;
+                } else {
+                    return i;
+                }
+            }
+        }
+        return text.length();
+    }
+
+    /**
+     * 表名结束位置：空白或左括号
+     */
+    private static int tableEnd(String text, int from) {
+        int i = from;
+        while (i < text.length() && !Character.isWhitespace(text.charAt(i)) && text.charAt(i) != '(') {
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipWhitespace(String text, int from) {
+        int i = from;
+        while (i < text.length() && Character.isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int indexOfWhitespace(String text, int from) {
+        for (int i = from; i < text.length(); i++) {
+            if (Character.isWhitespace(text.charAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+}
@@ -0,0 +1,148 @@
+package com.cqcloud.platform.jpa;
+
+import com.cqcloud.platform.annotation.Encrypted;
+import com.cqcloud.platform.enums.AlgorithmType;
+import com.cqcloud.platform.manager.EncryptionManager;
+import com.cqcloud.platform.strategy.CipherContext;
+import com.cqcloud.platform.tenant.TenantContextHolder;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JPA字符串加密属性转换器
+ * 与MyBatis-Plus加密类型处理器共用加密管理器中缓存的 {@link CipherContext}；
+ * 密钥与算法依次从转换器子类上的 {@link Encrypted}、加密管理器默认值解析，加解密失败时抛出异常，不会写入明文。
+ * 解密结果按密文做有界缓存，Hibernate批量加载或同一事务中重复读取同一行时不会重复解密
+ * <pre>
+ * &#64;Encrypted(keyId = "phone")
+ * public class PhoneConverter extends EncryptedAttributeConverter {
+ * }
+ *
+ * &#64;Convert(converter = PhoneConverter.class)
+ * private String phone;
+ * </pre>
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+@Converter
+public class EncryptedAttributeConverter implements AttributeConverter<String, String> {
+
+    /**
+     * 由自动配置设置的加密管理器，供JPA实现反射创建的转换器使用
+     */
+    private static volatile EncryptionManager defaultEncryptionManager;
+    private static volatile long memoMaxSize = 1024;
+    private static volatile long memoExpireSeconds = 300;
+
+    private final EncryptionManager encryptionManager;
+    private final String keyId;
+    private final AlgorithmType algorithm;
+    private volatile Cache<String, String> memo;
+
+    public EncryptedAttributeConverter() {
+        this(null);
+    }
+
+    public EncryptedAttributeConverter(EncryptionManager encryptionManager) {
+        Encrypted typeAnnotation = getClass().getAnnotation(Encrypted.class);
+        this.encryptionManager = encryptionManager;
+        this.keyId = typeAnnotation != null ? typeAnnotation.keyId() : null;
+        this.algorithm = typeAnnotation != null ? typeAnnotation.algorithm() : null;
+    }
+
+    /**
+     * 设置默认加密管理器
+     */
+    public static void setDefaultEncryptionManager(EncryptionManager encryptionManager) {
+        defaultEncryptionManager = encryptionManager;
+    }
+
+    /**
+     * 设置解密结果缓存，对之后首次解密的转换器生效
+     * @param maxSize 每个转换器最多缓存的密文数，0表示不缓存
+     * @param expireSeconds 缓存过期时间（秒）
+     */
+    public static void setDecryptMemo(long maxSize, long expireSeconds) {
+        memoMaxSize = maxSize;
+        memoExpireSeconds = expireSeconds;
+    }
+
+    @Override
+    public String convertToDatabaseColumn(String attribute) {
+        if (attribute == null || attribute.isEmpty()) {
+            return attribute;
+        }
+        return cipherContext().encrypt(attribute);
+    }
+
+    @Override
+    public String convertToEntityAttribute(String dbData) {
+        if (dbData == null) {
+            return null;
+        }
+        CipherContext context = cipherContext();
+        if (!context.isEncrypted(dbData)) {
+            // 其他算法的密文交由加密管理器识别，未加密的历史数据原样读出
+            return AlgorithmType.fromCiphertext(dbData) != null
+                    ? encryptionManager().decrypt(dbData, keyId()) : dbData;
+        }
+        Cache<String, String> cache = memo();
+        if (cache == null) {
+            return context.decrypt(dbData);
+        }
+        // 按租户隔离，其他租户读取同一密文时仍须经过该租户的密钥解密
+        String tenantId = TenantContextHolder.getTenantId();
+        String memoKey = tenantId != null ? tenantId + '\u0000' + dbData : dbData;
+        String plaintext = cache.getIfPresent(memoKey);
+        if (plaintext == null) {
+            plaintext = context.decrypt(dbData);
+            cache.put(memoKey, plaintext);
+        }
+        return plaintext;
+    }
+
+    /**
+     * 获取绑定的加密上下文
+     * 上下文由加密管理器创建并缓存，密钥轮换后自动使用新的上下文
+     */
+    protected CipherContext cipherContext() {
+        EncryptionManager manager = encryptionManager();
+        return manager.getCipherContext(keyId(), algorithm != null ? algorithm : manager.getDefaultAlgorithm());
+    }
+
+    protected EncryptionManager encryptionManager() {
+        EncryptionManager manager = encryptionManager != null ? encryptionManager : defaultEncryptionManager;
+        if (manager == null) {
+            throw new IllegalStateException("加密属性转换器未绑定加密管理器: " + getClass().getName());
+        }
+        return manager;
+    }
+
+    protected String keyId() {
+        return keyId != null ? keyId : encryptionManager().getDefaultKeyId();
+    }
+
+    /**
+     * 首次解密时按当前配置创建缓存（转换器可能早于自动配置被JPA实现创建）
+     */
+    private Cache<String, String> memo() {
+        Cache<String, String> cache = memo;
+        if (cache == null && memoMaxSize > 0) {
+            synchronized (this) {
+                cache = memo;
+                if (cache == null) {
+                    cache = CacheBuilder.newBuilder()
+                            .maximumSize(memoMaxSize)
+                            .expireAfterAccess(memoExpireSeconds, TimeUnit.SECONDS)
+                            .build();
+                    memo = cache;
+                }
+            }
+        }
+        return cache;
+    }
+}
@@ -0,0 +1,129 @@
+package com.cqcloud.platform.lazy;
+
+import com.cqcloud.platform.enums.AlgorithmType;
+import com.cqcloud.platform.manager.EncryptionManager;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * 延迟解密字段值
+ * 查询时只保存数据库中的密文，首次调用 {@link #get()} 时才解密并缓存明文，
+ * 不访问加密字段的列表查询因此不产生解密开销；写入时只有明文发生变化才重新加密。
+ * JSON序列化为明文字符串（反序列化时以明文创建），不输出密文与内部状态
+ * <pre>
+ * &#64;Encrypted(keyId = "phone")
+ * private LazyDecrypted phone;
+ * </pre>
+ * 不重写equals/hashCode，按对象标识比较：不解密无法判断两个值的明文是否相同，
+ * 而写入时补齐密文会改变基于状态的哈希值，放入HashSet/HashMap的实体随之丢失
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+public final class LazyDecrypted {
+
+    private volatile String ciphertext;
+    private volatile String plaintext;
+    private volatile boolean decrypted;
+    private volatile EncryptionManager encryptionManager;
+    private volatile String keyId;
+    private volatile AlgorithmType algorithm;
+
+    private LazyDecrypted(String ciphertext, String plaintext, boolean decrypted) {
+        this.ciphertext = ciphertext;
+        this.plaintext = plaintext;
+        this.decrypted = decrypted;
+    }
+
+    /**
+     * 以明文创建，写入数据库时加密
+     */
+    @JsonCreator
+    public static LazyDecrypted of(String plaintext) {
+        return new LazyDecrypted(null, plaintext, true);
+    }
+
+    /**
+     * 以数据库中的密文创建，首次访问时解密
+     */
+    public static LazyDecrypted ofCiphertext(String ciphertext) {
+        return new LazyDecrypted(ciphertext, null, false);
+    }
+
+    /**
+     * 绑定加解密使用的管理器、密钥与算法，由字段处理器根据 {@code @Encrypted} 注解完成
+     */
+    public void bind(EncryptionManager encryptionManager, String keyId, AlgorithmType algorithm) {
+        this.encryptionManager = encryptionManager;
+        this.keyId = keyId;
+        this.algorithm = algorithm;
+    }
+
+    /**
+     * 是否已绑定加密管理器
+     */
+    public boolean isBound() {
+        return encryptionManager != null;
+    }
+
+    /**
+     * 是否已解密
+     */
+    public boolean isDecrypted() {
+        return decrypted;
+    }
+
+    /**
+     * 获取明文，首次访问时解密并缓存
+     */
+    @JsonValue
+    public String get() {
+        if (!decrypted) {
+            synchronized (this) {
+                if (!decrypted) {
+                    plaintext = requireManager().decrypt(ciphertext, keyId);
+                    decrypted = true;
+                }
+            }
+        }
+        return plaintext;
+    }
+
+    /**
+     * 修改明文，原密文作废
+     */
+    public synchronized void set(String plaintext) {
+        this.plaintext = plaintext;
+        this.ciphertext = null;
+        this.decrypted = true;
+    }
+
+    /**
+     * 获取密文，明文修改过时加密并缓存
+     */
+    public String getCiphertext() {
+        if (ciphertext == null && plaintext != null) {
+            synchronized (this) {
+                if (ciphertext == null && plaintext != null) {
+                    ciphertext = requireManager().encrypt(plaintext, keyId, algorithm);
+                }
+            }
+        }
+        return ciphertext;
+    }
+
+    private EncryptionManager requireManager() {
+        EncryptionManager manager = encryptionManager;
+        if (manager == null) {
+            throw new IllegalStateException("LazyDecrypted未绑定加密管理器，请在字段上使用@Encrypted注解");
+        }
+        return manager;
+    }
+
+    /**
+     * 不输出明文与密文，避免误写入日志
+     */
+    @Override
+    public String toString() {
+        return "LazyDecrypted[******]";
+    }
+}
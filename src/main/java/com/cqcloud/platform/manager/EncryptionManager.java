@@ -1,6 +1,11 @@
 package com.cqcloud.platform.manager;
 
 import com.cqcloud.platform.enums.AlgorithmType;
+import com.cqcloud.platform.strategy.CipherContext;
+import com.cqcloud.platform.stream.StreamingAead;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * 加密管理器接口
@@ -52,4 +57,56 @@ public interface EncryptionManager {
      * 获取默认密钥ID
      */
     String getDefaultKeyId();
-}
\ No newline at end of file
+
+    /**
+     * 获取默认加密算法
+     */
+    default AlgorithmType getDefaultAlgorithm() {
+        return AlgorithmType.AES_GCM;
+    }
+
+    /**
+     * 批量加密，结果与输入顺序一致
+     * @param plaintexts 明文列表
+     * @param keyId 密钥ID
+     * @return 密文列表
+     */
+    default List<String> encryptBatch(List<String> plaintexts, String keyId) {
+        return encryptBatch(plaintexts, keyId, getDefaultAlgorithm());
+    }
+
+    /**
+     * 批量加密，结果与输入顺序一致
+     * @param plaintexts 明文列表
+     * @param keyId 密钥ID
+     * @param algorithm 算法类型
+     * @return 密文列表
+     */
+    default List<String> encryptBatch(List<String> plaintexts, String keyId, AlgorithmType algorithm) {
+        List<String> result = new ArrayList<>(plaintexts.size());
+        for (String plaintext : plaintexts) {
+            result.add(encrypt(plaintext, keyId, algorithm));
+        }
+        return result;
+    }
+
+    /**
+     * 获取已初始化的加密上下文
+     * @param keyId 密钥ID
+     * @param algorithm 算法类型
+     * @return 加密上下文
+     */
+    default CipherContext getCipherContext(String keyId, AlgorithmType algorithm) {
+        throw new UnsupportedOperationException("当前加密管理器不支持加密上下文");
+    }
+
+    /**
+     * 获取大对象流式加解密器
+     * @param keyId 密钥ID
+     * @param algorithm 算法类型（仅支持认证加密算法）
+     * @return 流式加解密器
+     */
+    default StreamingAead getStreamingAead(String keyId, AlgorithmType algorithm) {
+        throw new UnsupportedOperationException("当前加密管理器不支持流式加密");
+    }
+}
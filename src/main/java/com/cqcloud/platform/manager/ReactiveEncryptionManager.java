@@ -0,0 +1,70 @@
+package com.cqcloud.platform.manager;
+
+import com.cqcloud.platform.processor.FieldSnapshot;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 响应式加密管理器接口
+ * 供WebFlux、R2DBC等非阻塞场景使用，批量操作在有界调度器上执行，避免占用事件循环线程
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+public interface ReactiveEncryptionManager {
+
+    /**
+     * 加密数据
+     * @param plaintext 明文
+     * @param keyId 密钥ID
+     * @return 密文，明文为null时返回空Mono
+     */
+    Mono<String> encrypt(String plaintext, String keyId);
+
+    /**
+     * 解密数据
+     * @param ciphertext 密文
+     * @param keyId 密钥ID
+     * @return 明文，密文为null时返回空Mono
+     */
+    Mono<String> decrypt(String ciphertext, String keyId);
+
+    /**
+     * 批量加密，保持输入顺序
+     * @param plaintexts 明文流
+     * @param keyId 密钥ID
+     * @return 密文流
+     */
+    Flux<String> encryptAll(Flux<String> plaintexts, String keyId);
+
+    /**
+     * 批量解密，保持输入顺序
+     * @param ciphertexts 密文流
+     * @param keyId 密钥ID
+     * @return 明文流
+     */
+    Flux<String> decryptAll(Flux<String> ciphertexts, String keyId);
+
+    /**
+     * 加密实体中带有@Encrypted注解的字段
+     * @param entity 实体
+     * @return 加密后的同一实体
+     */
+    <T> Mono<T> encryptFields(T entity);
+
+    /**
+     * 加密实体中带有@Encrypted注解的字段，并将被替换的明文记录到快照中，写入完成后可通过快照还原
+     * @param entity 实体
+     * @param snapshot 原值快照
+     * @return 加密后的同一实体
+     */
+    default <T> Mono<T> encryptFields(T entity, FieldSnapshot snapshot) {
+        return encryptFields(entity);
+    }
+
+    /**
+     * 解密实体中带有@Encrypted注解的字段
+     * @param entity 实体
+     * @return 解密后的同一实体
+     */
+    <T> Mono<T> decryptFields(T entity);
+}
@@ -1,24 +1,33 @@
 package com.cqcloud.platform.manager.impl;
 
-
-import com.baomidou.mybatisplus.core.toolkit.StringUtils;
 import com.cqcloud.platform.config.EncryptionProperties;
 import com.cqcloud.platform.enums.AlgorithmType;
 import com.cqcloud.platform.exception.DecryptException;
 import com.cqcloud.platform.exception.EncryptException;
 import com.cqcloud.platform.manager.EncryptionManager;
+import com.cqcloud.platform.stream.StreamingAead;
+import com.cqcloud.platform.strategy.CipherContext;
 import com.cqcloud.platform.strategy.EncryptionStrategy;
 import com.cqcloud.platform.strategy.impl.AesGcmEncryptionStrategy;
 import com.cqcloud.platform.strategy.impl.Sm4CbcEncryptionStrategy;
 import com.cqcloud.platform.strategy.impl.Sm4GcmEncryptionStrategy;
+import com.cqcloud.platform.tenant.TenantCipherContexts;
+import com.cqcloud.platform.tenant.TenantContextHolder;
+import com.cqcloud.platform.tenant.TenantKeyResolver;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Lists;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.StringUtils;
 
 import java.util.Base64;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * AES加密管理器实现
@@ -30,9 +39,11 @@ public class AesEncryptionManager implements EncryptionManager {
 
     private final Map<String, byte[]> keyStore = new HashMap<>();
     private final Map<AlgorithmType, EncryptionStrategy> strategies = new HashMap<>();
+    private final Map<String, CipherContext> cipherContexts = new ConcurrentHashMap<>();
     private final EncryptionProperties properties;
     private final Cache<String, String> encryptionCache;
     private final Cache<String, String> decryptionCache;
+    private volatile TenantCipherContexts tenantContexts;
 
     public AesEncryptionManager(EncryptionProperties properties) {
         this.properties = properties;
@@ -63,8 +74,8 @@ public class AesEncryptionManager implements EncryptionManager {
     private void initStrategies() {
         strategies.put(AlgorithmType.AES_GCM, new AesGcmEncryptionStrategy());
         strategies.put(AlgorithmType.AES_CBC, new AesGcmEncryptionStrategy());
-        strategies.put(AlgorithmType.SM4_CBC, new Sm4GcmEncryptionStrategy());
-        strategies.put(AlgorithmType.SM4_GCM, new Sm4CbcEncryptionStrategy());
+        strategies.put(AlgorithmType.SM4_CBC, new Sm4CbcEncryptionStrategy());
+        strategies.put(AlgorithmType.SM4_GCM, new Sm4GcmEncryptionStrategy());
     }
 
     /**
@@ -72,14 +83,14 @@ public class AesEncryptionManager implements EncryptionManager {
      */
     private void initKeys() {
         // 添加默认密钥
-        if (StringUtils.isNotBlank(properties.getDefaultKey())) {
+        if (StringUtils.hasText(properties.getDefaultKey())) {
             keyStore.put("default", Base64.getDecoder().decode(properties.getDefaultKey()));
         }
 
         // 添加配置的密钥
         if (properties.getKeys() != null) {
             properties.getKeys().forEach(keyConfig -> {
-                if (StringUtils.isNotBlank(keyConfig.getValue())) {
+                if (StringUtils.hasText(keyConfig.getValue())) {
                     keyStore.put(keyConfig.getId(), Base64.getDecoder().decode(keyConfig.getValue()));
                 }
             });
@@ -104,7 +115,7 @@ public class AesEncryptionManager implements EncryptionManager {
 
     @Override
     public String encrypt(String plaintext, String keyId, AlgorithmType algorithm) {
-        if (StringUtils.isBlank(plaintext)) {
+        if (!StringUtils.hasText(plaintext)) {
             return plaintext;
         }
 
@@ -119,24 +130,7 @@ public class AesEncryptionManager implements EncryptionManager {
         }
 
         try {
-            // 获取密钥
-            byte[] key = getKey(keyId);
-            if (key == null) {
-                throw new EncryptException("未找到密钥: " + keyId);
-            }
-
-            // 获取策略
-            EncryptionStrategy strategy = strategies.get(algorithm);
-            if (strategy == null) {
-                throw new EncryptException("不支持的算法: " + algorithm);
-            }
-
-            // 执行加密
-            Map<String, Object> params = new HashMap<>();
-            params.put("keyId", keyId);
-            params.put("algorithm", algorithm);
-
-            String ciphertext = strategy.encrypt(plaintext, key, algorithm, params);
+            String ciphertext = getCipherContext(keyId, algorithm).encrypt(plaintext);
 
             // 放入缓存
             if (properties.isCacheEnabled() && encryptionCache != null) {
@@ -163,7 +157,7 @@ public class AesEncryptionManager implements EncryptionManager {
 
     @Override
     public String decrypt(String ciphertext, String keyId, AlgorithmType algorithm) {
-        if (StringUtils.isBlank(ciphertext)) {
+        if (!StringUtils.hasText(ciphertext)) {
             return ciphertext;
         }
 
@@ -177,30 +171,14 @@ public class AesEncryptionManager implements EncryptionManager {
             }
         }
 
-        try {
-            // 获取密钥
-            byte[] key = getKey(keyId);
-            if (key == null) {
-                throw new DecryptException("未找到密钥: " + keyId);
-            }
-
-            // 获取策略
-            EncryptionStrategy strategy = strategies.get(algorithm);
-            if (strategy == null) {
-                throw new DecryptException("不支持的算法: " + algorithm);
-            }
-
-            // 检查是否需要解密（有些文本可能未加密）
-            if (!(boolean) strategy.getClass().getMethod("isEncrypted", String.class).invoke(strategy, ciphertext)) {
-                return ciphertext;
-            }
-
-            // 执行解密
-            Map<String, Object> params = new HashMap<>();
-            params.put("keyId", keyId);
-            params.put("algorithm", algorithm);
+        // 按密文标识识别实际算法，未加密的文本原样返回
+        AlgorithmType actualAlgorithm = AlgorithmType.fromCiphertext(ciphertext);
+        if (actualAlgorithm == null) {
+            return ciphertext;
+        }
 
-            String plaintext = strategy.decrypt(ciphertext, key, algorithm, params);
+        try {
+            String plaintext = getCipherContext(keyId, actualAlgorithm).decrypt(ciphertext);
 
             // 放入缓存
             if (properties.isCacheEnabled() && decryptionCache != null) {
@@ -210,7 +188,7 @@ public class AesEncryptionManager implements EncryptionManager {
             // 记录日志
             if (properties.isLogEnabled()) {
                 log.debug("解密成功: keyId={}, algorithm={}, ciphertextLength={}",
-                        keyId, algorithm, ciphertext.length());
+                        keyId, actualAlgorithm, ciphertext.length());
             }
 
             return plaintext;
@@ -222,15 +200,12 @@ public class AesEncryptionManager implements EncryptionManager {
 
     @Override
     public boolean isEncrypted(String text) {
-        if (StringUtils.isBlank(text)) {
+        if (!StringUtils.hasText(text)) {
             return false;
         }
 
         // 检查各种加密标识
-        return text.startsWith("ENC(AES-GCM):") ||
-                text.startsWith("ENC(AES-CBC):") ||
-                text.startsWith("ENC(SM4-CBC):") ||
-                text.startsWith("ENC(SM4-GCM):");
+        return AlgorithmType.fromCiphertext(text) != null;
     }
 
     @Override
@@ -238,6 +213,98 @@ public class AesEncryptionManager implements EncryptionManager {
         return "default";
     }
 
+    @Override
+    public AlgorithmType getDefaultAlgorithm() {
+        return properties.getDefaultAlgorithm();
+    }
+
+    @Override
+    public List<String> encryptBatch(List<String> plaintexts, String keyId, AlgorithmType algorithm) {
+        CipherContext context = getCipherContext(keyId, algorithm);
+        int threshold = properties.getBatchParallelThreshold();
+        if (threshold <= 0 || plaintexts.size() < threshold) {
+            return context.encryptAll(plaintexts);
+        }
+
+        // 大批量按CPU数分块并行加密，结果保持原顺序；工作线程使用调用线程的租户
+        int parallelism = ForkJoinPool.commonPool().getParallelism();
+        int chunkSize = Math.max(threshold / 2, (plaintexts.size() + parallelism - 1) / parallelism);
+        String tenantId = TenantContextHolder.getTenantId();
+        return Lists.partition(plaintexts, chunkSize)
+                .parallelStream()
+                .map(chunk -> TenantContextHolder.callWithTenant(tenantId, () -> context.encryptAll(chunk)))
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 设置租户密钥解析器，设置后使用当前租户的数据密钥，没有租户时按 tenantSharedKeyFallback 拒绝或使用共享密钥
+     */
+    public void setTenantKeyResolver(TenantKeyResolver tenantKeyResolver) {
+        this.tenantContexts = tenantKeyResolver == null ? null : new TenantCipherContexts(tenantKeyResolver,
+                this::createCipherContext, properties.getTenantContextCacheSize(),
+                properties.getTenantContextIdleSeconds());
+    }
+
+    /**
+     * 获取加密上下文，设置了租户密钥解析器时返回当前租户的上下文
+     */
+    @Override
+    public CipherContext getCipherContext(String keyId, AlgorithmType algorithm) {
+        TenantCipherContexts tenants = tenantContexts;
+        String tenantId = tenants != null ? currentTenant() : null;
+        if (tenantId != null) {
+            return tenants.get(tenantId, keyId, algorithm);
+        }
+        return cipherContexts.computeIfAbsent(keyId + ":" + algorithm.name(),
+                cacheKey -> createCipherContext(keyId, algorithm));
+    }
+
+    /**
+     * 获取流式加密器，设置了租户密钥解析器时使用当前租户的密钥
+     */
+    @Override
+    public StreamingAead getStreamingAead(String keyId, AlgorithmType algorithm) {
+        TenantCipherContexts tenants = tenantContexts;
+        String tenantId = tenants != null ? currentTenant() : null;
+        byte[] key = tenantId != null ? tenants.getKey(tenantId, keyId) : getKey(keyId);
+        if (key == null) {
+            throw new EncryptException("未找到密钥: " + keyId);
+        }
+        return new StreamingAead(algorithm, key, properties.getStreamSegmentSize());
+    }
+
+    /**
+     * 设置了租户密钥解析器时的当前租户；没有租户时除非允许回退到共享密钥，否则拒绝加解密，避免租户数据以共享密钥落库
+     * @return 当前租户ID，允许回退且没有租户时返回null
+     */
+    private String currentTenant() {
+        String tenantId = TenantContextHolder.getTenantId();
+        if (tenantId == null && !properties.isTenantSharedKeyFallback()) {
+            throw new EncryptException("已启用租户密钥但当前线程没有租户，如需使用共享密钥请开启 tenant-shared-key-fallback");
+        }
+        return tenantId;
+    }
+
+    /**
+     * 创建加密上下文
+     */
+    private CipherContext createCipherContext(String keyId, AlgorithmType algorithm) {
+        byte[] key = getKey(keyId);
+        if (key == null) {
+            throw new EncryptException("未找到密钥: " + keyId);
+        }
+        return createCipherContext(key, algorithm);
+    }
+
+    private CipherContext createCipherContext(byte[] key, AlgorithmType algorithm) {
+        EncryptionStrategy strategy = strategies.get(algorithm);
+        if (strategy == null) {
+            throw new EncryptException("不支持的算法: " + algorithm);
+        }
+        return strategy.createContext(key, algorithm);
+    }
+
     /**
      * 获取密钥
      */
@@ -256,7 +323,10 @@ public class AesEncryptionManager implements EncryptionManager {
      * 构建缓存键
      */
     private String buildCacheKey(String text, String keyId, AlgorithmType algorithm) {
-        return algorithm.name() + ":" + keyId + ":" + text;
+        String tenantId = tenantContexts != null ? TenantContextHolder.getTenantId() : null;
+        return tenantId != null
+                ? tenantId + "\u0000" + algorithm.name() + ":" + keyId + ":" + text
+                : algorithm.name() + ":" + keyId + ":" + text;
     }
 
     /**
@@ -264,6 +334,7 @@ public class AesEncryptionManager implements EncryptionManager {
      */
     public void addKey(String keyId, byte[] key) {
         keyStore.put(keyId, key);
+        cipherContexts.clear();
         log.info("添加密钥: keyId={}, keyLength={}", keyId, key.length);
     }
 
@@ -272,9 +343,21 @@ public class AesEncryptionManager implements EncryptionManager {
      */
     public void removeKey(String keyId) {
         keyStore.remove(keyId);
+        cipherContexts.clear();
         log.info("移除密钥: keyId={}", keyId);
     }
 
+    /**
+     * 淘汰租户的加密上下文与加解密缓存，租户密钥轮换后调用
+     */
+    public void evictTenant(String tenantId) {
+        TenantCipherContexts tenants = tenantContexts;
+        if (tenants != null) {
+            tenants.evict(tenantId);
+        }
+        clearCache();
+    }
+
     /**
      * 清空缓存
      */
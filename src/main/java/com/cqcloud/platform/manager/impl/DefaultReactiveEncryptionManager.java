@@ -0,0 +1,124 @@
+package com.cqcloud.platform.manager.impl;
+
+import com.cqcloud.platform.config.EncryptionProperties;
+import com.cqcloud.platform.manager.EncryptionManager;
+import com.cqcloud.platform.manager.ReactiveEncryptionManager;
+import com.cqcloud.platform.processor.EncryptedFieldProcessor;
+import com.cqcloud.platform.processor.FieldNameMatcher;
+import com.cqcloud.platform.processor.FieldSnapshot;
+import com.cqcloud.platform.tenant.TenantContextHolder;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.ContextView;
+
+import java.util.concurrent.Callable;
+
+/**
+ * 默认响应式加密管理器实现
+ * 单值与单实体加解密耗时为微秒级，直接在订阅线程执行，避免线程切换的开销；
+ * 批量加解密切换到有界调度器执行，队列满时快速失败而不是无限堆积。
+ * 租户取自 Reactor Context 中的 {@link TenantContextHolder#CONTEXT_KEY}，未设置时取组装链路的线程上的租户，
+ * 在实际执行加解密的线程上设置后再调用加密管理器
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+@Slf4j
+public class DefaultReactiveEncryptionManager implements ReactiveEncryptionManager {
+
+    private final EncryptionManager encryptionManager;
+    private final EncryptedFieldProcessor fieldProcessor;
+    private final Scheduler scheduler;
+
+    public DefaultReactiveEncryptionManager(EncryptionManager encryptionManager, EncryptionProperties properties) {
+        this.encryptionManager = encryptionManager;
+        this.fieldProcessor = new EncryptedFieldProcessor(encryptionManager, null,
+                FieldNameMatcher.compile(properties.getIncludePatterns(), properties.getExcludePatterns()));
+        this.scheduler = Schedulers.newBoundedElastic(
+                properties.getReactiveMaxThreads(),
+                properties.getReactiveMaxQueuedTasks(),
+                "encryption");
+    }
+
+    @Override
+    public Mono<String> encrypt(String plaintext, String keyId) {
+        return inTenant(() -> encryptionManager.encrypt(plaintext, keyId));
+    }
+
+    @Override
+    public Mono<String> decrypt(String ciphertext, String keyId) {
+        return inTenant(() -> encryptionManager.decrypt(ciphertext, keyId));
+    }
+
+    @Override
+    public Flux<String> encryptAll(Flux<String> plaintexts, String keyId) {
+        String captured = TenantContextHolder.getTenantId();
+        return Flux.deferContextual(context -> {
+            String tenantId = tenantOf(context, captured);
+            return plaintexts.publishOn(scheduler)
+                    .map(plaintext -> TenantContextHolder.callWithTenant(tenantId,
+                            () -> encryptionManager.encrypt(plaintext, keyId)));
+        });
+    }
+
+    @Override
+    public Flux<String> decryptAll(Flux<String> ciphertexts, String keyId) {
+        String captured = TenantContextHolder.getTenantId();
+        return Flux.deferContextual(context -> {
+            String tenantId = tenantOf(context, captured);
+            return ciphertexts.publishOn(scheduler)
+                    .map(ciphertext -> TenantContextHolder.callWithTenant(tenantId,
+                            () -> encryptionManager.decrypt(ciphertext, keyId)));
+        });
+    }
+
+    @Override
+    public <T> Mono<T> encryptFields(T entity) {
+        return inTenant(() -> {
+            fieldProcessor.encryptFields(entity);
+            return entity;
+        });
+    }
+
+    @Override
+    public <T> Mono<T> encryptFields(T entity, FieldSnapshot snapshot) {
+        return inTenant(() -> {
+            fieldProcessor.encryptFields(entity, snapshot);
+            return entity;
+        });
+    }
+
+    @Override
+    public <T> Mono<T> decryptFields(T entity) {
+        return inTenant(() -> {
+            fieldProcessor.decryptFields(entity);
+            return entity;
+        });
+    }
+
+    /**
+     * 在订阅线程上以链路的租户执行
+     */
+    private <T> Mono<T> inTenant(Callable<T> action) {
+        String captured = TenantContextHolder.getTenantId();
+        return Mono.deferContextual(context -> Mono.fromCallable(
+                TenantContextHolder.wrap(tenantOf(context, captured), action)));
+    }
+
+    /**
+     * 链路的租户：Reactor Context 中的租户优先，其次为组装链路的线程上的租户
+     */
+    private static String tenantOf(ContextView context, String captured) {
+        return context.getOrDefault(TenantContextHolder.CONTEXT_KEY, captured);
+    }
+
+    /**
+     * 释放调度器线程
+     */
+    public void dispose() {
+        scheduler.dispose();
+        log.debug("关闭响应式加密调度器");
+    }
+}
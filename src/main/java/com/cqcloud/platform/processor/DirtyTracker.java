@@ -0,0 +1,104 @@
+package com.cqcloud.platform.processor;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 加密字段脏检查
+ * 查询解密时记录每个加密字段明文的摘要与原始密文，更新时明文未变化的字段直接复用原密文，
+ * 使UPDATE的加密开销只与实际修改的字段成正比；实体以弱引用（按对象标识）作为键，随实体回收。
+ * 摘要为HMAC-SHA256，密钥在进程启动时随机生成、不落盘，手机号、证件号等低熵明文无法从堆转储中的摘要穷举还原
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+public class DirtyTracker {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final SecretKeySpec HMAC_KEY = generateKey();
+    private static final ThreadLocal<Mac> MACS = ThreadLocal.withInitial(() -> {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(HMAC_KEY);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256不可用", e);
+        }
+    });
+
+    private final Cache<Object, Map<Field, Tracked>> tracked;
+
+    public DirtyTracker(long maxSize) {
+        this.tracked = CacheBuilder.newBuilder()
+                .weakKeys()
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    /**
+     * 记录查询得到的字段明文摘要与原始密文
+     */
+    public void record(Object entity, Field field, String plaintext, String ciphertext) {
+        Map<Field, Tracked> fields = tracked.asMap().computeIfAbsent(entity, key -> new ConcurrentHashMap<>(4));
+        fields.put(field, new Tracked(digest(plaintext), ciphertext));
+    }
+
+    /**
+     * 更新已跟踪字段的明文摘要与密文，未跟踪的实体不做记录
+     */
+    public void update(Object entity, Field field, String plaintext, String ciphertext) {
+        Map<Field, Tracked> fields = tracked.getIfPresent(entity);
+        if (fields != null) {
+            fields.put(field, new Tracked(digest(plaintext), ciphertext));
+        }
+    }
+
+    /**
+     * 获取明文未变化字段的原始密文
+     * @return 原始密文，字段未跟踪或明文已变化时返回null
+     */
+    public String unchangedCiphertext(Object entity, Field field, String plaintext) {
+        Map<Field, Tracked> fields = tracked.getIfPresent(entity);
+        if (fields == null) {
+            return null;
+        }
+        Tracked state = fields.get(field);
+        if (state == null || !MessageDigest.isEqual(state.digest, digest(plaintext))) {
+            return null;
+        }
+        return state.ciphertext;
+    }
+
+    private static byte[] digest(String plaintext) {
+        return MACS.get().doFinal(plaintext.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static SecretKeySpec generateKey() {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return new SecretKeySpec(key, HMAC_ALGORITHM);
+    }
+
+    /**
+     * 字段跟踪状态
+     */
+    private static class Tracked {
+
+        private final byte[] digest;
+        private final String ciphertext;
+
+        private Tracked(byte[] digest, String ciphertext) {
+            this.digest = digest;
+            this.ciphertext = ciphertext;
+        }
+    }
+}
@@ -0,0 +1,398 @@
+package com.cqcloud.platform.processor;
+
+import com.cqcloud.platform.annotation.Encrypted;
+import com.cqcloud.platform.annotation.NeedEncryption;
+import com.cqcloud.platform.enums.AlgorithmType;
+import com.cqcloud.platform.lazy.LazyDecrypted;
+import com.cqcloud.platform.manager.EncryptionManager;
+import com.cqcloud.platform.utils.ReflectionUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 实体字段加解密处理器
+ * 负责遍历实体中带有 {@link Encrypted} 注解（或在 {@link NeedEncryption} 类中按字段名约定）的字段并进行加解密，
+ * 由MyBatis-Plus拦截器与R2DBC实体回调共用
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+@Slf4j
+public class EncryptedFieldProcessor {
+
+    private final EncryptionManager encryptionManager;
+    private final DirtyTracker dirtyTracker;
+    private final FieldNameMatcher conventionMatcher;
+
+    /**
+     * 类 -> 加密字段缓存（已设置可访问）
+     */
+    private final Map<Class<?>, List<Field>> fieldCache = new ConcurrentHashMap<>();
+
+    public EncryptedFieldProcessor(EncryptionManager encryptionManager) {
+        this(encryptionManager, null);
+    }
+
+    /**
+     * @param encryptionManager 加密管理器
+     * @param dirtyTracker 脏检查，为null时不跟踪，每次更新都重新加密
+     */
+    public EncryptedFieldProcessor(EncryptionManager encryptionManager, DirtyTracker dirtyTracker) {
+        this(encryptionManager, dirtyTracker, FieldNameMatcher.NONE);
+    }
+
+    /**
+     * @param encryptionManager 加密管理器
+     * @param dirtyTracker 脏检查，为null时不跟踪，每次更新都重新加密
+     * @param conventionMatcher 字段名约定，{@link NeedEncryption} 类中命中的字符串字段无需注解即加密
+     */
+    public EncryptedFieldProcessor(EncryptionManager encryptionManager, DirtyTracker dirtyTracker,
+                                   FieldNameMatcher conventionMatcher) {
+        this.encryptionManager = encryptionManager;
+        this.dirtyTracker = dirtyTracker;
+        this.conventionMatcher = conventionMatcher;
+    }
+
+    /**
+     * 加密对象字段
+     */
+    public void encryptFields(Object obj) throws Exception {
+        encryptFields(obj, null);
+    }
+
+    /**
+     * 加密对象字段，并将被替换的原值记录到快照中
+     * @param obj 对象
+     * @param snapshot 原值快照，为null时不记录
+     */
+    public void encryptFields(Object obj, FieldSnapshot snapshot) throws Exception {
+        if (obj == null || ReflectionUtil.isBasicType(obj.getClass())) {
+            return;
+        }
+
+        List<Field> fields = getEncryptedFields(obj.getClass());
+        if (fields.isEmpty()) {
+            return;
+        }
+
+        for (Field field : fields) {
+            Object value = field.get(obj);
+            if (value instanceof LazyDecrypted) {
+                bindLazy((LazyDecrypted) value, field);
+                continue;
+            }
+
+            if (value instanceof String) {
+                String strValue = (String) value;
+                if (strValue != null && !encryptionManager.isEncrypted(strValue)) {
+                    String encryptedValue = unchangedCiphertext(obj, field, strValue);
+                    if (encryptedValue == null) {
+                        encryptedValue = encryptValue(field, strValue);
+                        if (dirtyTracker != null) {
+                            dirtyTracker.update(obj, field, strValue, encryptedValue);
+                        }
+                    }
+                    if (snapshot != null) {
+                        snapshot.record(obj, field, strValue);
+                    }
+                    field.set(obj, encryptedValue);
+
+                    if (log.isDebugEnabled()) {
+                        log.debug("加密字段: {}.{}", obj.getClass().getSimpleName(), field.getName());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 批量加密集合中各对象的字段
+     * 先收集整批待加密的值并按密钥与算法分组，每组通过同一个加密上下文一次性加密后再写回
+     */
+    public void encryptBatch(Collection<?> items) throws Exception {
+        encryptBatch(items, null);
+    }
+
+    /**
+     * 批量加密集合中各对象的字段，并将被替换的原值记录到快照中
+     * @param items 对象集合
+     * @param snapshot 原值快照，为null时不记录
+     */
+    public void encryptBatch(Collection<?> items, FieldSnapshot snapshot) throws Exception {
+        Map<BatchKey, List<PendingField>> groups = new LinkedHashMap<>();
+        for (Object item : items) {
+            if (item == null || ReflectionUtil.isBasicType(item.getClass())) {
+                continue;
+            }
+            for (Field field : getEncryptedFields(item.getClass())) {
+                Object value = field.get(item);
+                if (value instanceof LazyDecrypted) {
+                    bindLazy((LazyDecrypted) value, field);
+                    continue;
+                }
+                if (value instanceof String && !encryptionManager.isEncrypted((String) value)) {
+                    String unchanged = unchangedCiphertext(item, field, (String) value);
+                    if (unchanged != null) {
+                        if (snapshot != null) {
+                            snapshot.record(item, field, value);
+                        }
+                        field.set(item, unchanged);
+                        continue;
+                    }
+                    if (compressThresholdOf(field) >= 0) {
+                        // 压缩字段逐个加密，不进入按密钥分组的批量加密
+                        String encrypted = encryptValue(field, (String) value);
+                        if (snapshot != null) {
+                            snapshot.record(item, field, value);
+                        }
+                        if (dirtyTracker != null) {
+                            dirtyTracker.update(item, field, (String) value, encrypted);
+                        }
+                        field.set(item, encrypted);
+                        continue;
+                    }
+                    groups.computeIfAbsent(new BatchKey(keyIdOf(field), algorithmOf(field)), k -> new ArrayList<>())
+                            .add(new PendingField(item, field, (String) value));
+                }
+            }
+        }
+
+        for (Map.Entry<BatchKey, List<PendingField>> group : groups.entrySet()) {
+            List<PendingField> pending = group.getValue();
+            List<String> plaintexts = new ArrayList<>(pending.size());
+            for (PendingField pendingField : pending) {
+                plaintexts.add(pendingField.value);
+            }
+
+            BatchKey batchKey = group.getKey();
+            List<String> ciphertexts = encryptionManager.encryptBatch(plaintexts, batchKey.keyId, batchKey.algorithm);
+            for (int i = 0; i < pending.size(); i++) {
+                PendingField pendingField = pending.get(i);
+                if (snapshot != null) {
+                    snapshot.record(pendingField.target, pendingField.field, pendingField.value);
+                }
+                if (dirtyTracker != null) {
+                    dirtyTracker.update(pendingField.target, pendingField.field, pendingField.value, ciphertexts.get(i));
+                }
+                pendingField.field.set(pendingField.target, ciphertexts.get(i));
+            }
+
+            if (log.isDebugEnabled()) {
+                log.debug("批量加密字段: keyId={}, algorithm={}, count={}", batchKey.keyId, batchKey.algorithm,
+                        pending.size());
+            }
+        }
+    }
+
+    /**
+     * 解密对象字段
+     */
+    public void decryptFields(Object obj) throws Exception {
+        if (obj == null || ReflectionUtil.isBasicType(obj.getClass())) {
+            return;
+        }
+        decryptFields(obj, getEncryptedFields(obj.getClass()));
+    }
+
+    /**
+     * 只解密指定的加密字段
+     * @param obj 对象
+     * @param fields 需要解密的字段，须为 {@link #getEncryptedFields} 返回字段的子集
+     */
+    public void decryptFields(Object obj, List<Field> fields) throws Exception {
+        if (obj == null || fields.isEmpty()) {
+            return;
+        }
+
+        for (Field field : fields) {
+            Object value = field.get(obj);
+            // 延迟解密字段只绑定密钥，首次访问时才解密
+            if (value instanceof LazyDecrypted) {
+                bindLazy((LazyDecrypted) value, field);
+                continue;
+            }
+
+            if (value instanceof String) {
+                String strValue = (String) value;
+                if (strValue != null && encryptionManager.isEncrypted(strValue)) {
+                    String decryptedValue = encryptionManager.decrypt(strValue, keyIdOf(field));
+                    field.set(obj, decryptedValue);
+                    if (dirtyTracker != null && decryptedValue != null) {
+                        dirtyTracker.record(obj, field, decryptedValue, strValue);
+                    }
+
+                    if (log.isDebugEnabled()) {
+                        log.debug("解密字段: {}.{}", obj.getClass().getSimpleName(), field.getName());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 为延迟解密字段绑定加密管理器与字段注解中的密钥、算法
+     */
+    private void bindLazy(LazyDecrypted value, Field field) {
+        if (!value.isBound()) {
+            value.bind(encryptionManager, keyIdOf(field), algorithmOf(field));
+        }
+    }
+
+    /**
+     * 明文未变化时返回查询时的原始密文
+     */
+    private String unchangedCiphertext(Object obj, Field field, String plaintext) {
+        return dirtyTracker == null ? null : dirtyTracker.unchangedCiphertext(obj, field, plaintext);
+    }
+
+    /**
+     * 获取类的加密字段（已设置可访问），首次访问时解析并缓存
+     * 包括带 {@link Encrypted} 注解的字段，以及 {@link NeedEncryption} 类中字段名命中约定模式的字段；
+     * 非字符串类型的注解字段无法原地保存密文，不在此处理并告警，需由 {@link com.cqcloud.platform.handler.EncryptedValueTypeHandler} 子类在绑定参数时加密
+     */
+    public List<Field> getEncryptedFields(Class<?> clazz) {
+        return fieldCache.computeIfAbsent(clazz, key -> {
+            List<Field> fields = isConventionClass(key)
+                    ? conventionFields(key)
+                    : ReflectionUtil.getFieldsWithAnnotation(key, Encrypted.class);
+            fields.removeIf(field -> {
+                if (isInPlaceType(field.getType())) {
+                    return false;
+                }
+                // 元数据按类缓存，每个字段只告警一次
+                log.warn("非字符串加密字段 {}.{}({}) 不由字段处理器加密，需配置 EncryptedValueTypeHandler 子类，否则将以明文写入",
+                        key.getSimpleName(), field.getName(), field.getType().getSimpleName());
+                return true;
+            });
+            fields.forEach(field -> field.setAccessible(true));
+            return fields;
+        });
+    }
+
+    /**
+     * 字段类型能否原地保存密文
+     */
+    public static boolean isInPlaceType(Class<?> type) {
+        return type == String.class || type == LazyDecrypted.class;
+    }
+
+    /**
+     * 获取加密字段使用的密钥ID，按约定加密的字段使用默认密钥
+     */
+    public String keyIdOf(Field field) {
+        Encrypted encrypted = field.getAnnotation(Encrypted.class);
+        return encrypted != null ? encrypted.keyId() : encryptionManager.getDefaultKeyId();
+    }
+
+    /**
+     * 获取加密字段使用的算法，按约定加密的字段使用默认算法
+     */
+    public AlgorithmType algorithmOf(Field field) {
+        Encrypted encrypted = field.getAnnotation(Encrypted.class);
+        return encrypted != null ? encrypted.algorithm() : encryptionManager.getDefaultAlgorithm();
+    }
+
+    /**
+     * 获取加密字段的压缩阈值，-1表示不压缩
+     */
+    private static int compressThresholdOf(Field field) {
+        Encrypted encrypted = field.getAnnotation(Encrypted.class);
+        return encrypted != null ? encrypted.compressThreshold() : -1;
+    }
+
+    /**
+     * 按字段的密钥与算法加密字段值，指定了压缩阈值的字段通过加密上下文先压缩再加密
+     */
+    private String encryptValue(Field field, String value) {
+        int compressThreshold = compressThresholdOf(field);
+        if (compressThreshold < 0) {
+            return encryptionManager.encrypt(value, keyIdOf(field), algorithmOf(field));
+        }
+        return encryptionManager.getCipherContext(keyIdOf(field), algorithmOf(field))
+                .encrypt(value, compressThreshold);
+    }
+
+    private boolean isConventionClass(Class<?> clazz) {
+        if (conventionMatcher.isEmpty()) {
+            return false;
+        }
+        NeedEncryption needEncryption = clazz.getAnnotation(NeedEncryption.class);
+        return needEncryption != null && needEncryption.enabled();
+    }
+
+    /**
+     * 注解字段加上字段名命中约定的字符串（或延迟解密）字段，静态与final字段除外
+     */
+    private List<Field> conventionFields(Class<?> clazz) {
+        List<Field> fields = new ArrayList<>();
+        for (Field field : ReflectionUtil.getAllFields(clazz)) {
+            if (field.isAnnotationPresent(Encrypted.class)) {
+                fields.add(field);
+            } else if (isInPlaceType(field.getType())
+                    && !ReflectionUtil.isStaticField(field)
+                    && !ReflectionUtil.isFinalField(field)
+                    && !field.isSynthetic()
+                    && conventionMatcher.matches(field.getName())) {
+                fields.add(field);
+            }
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("按约定解析加密字段: {}, 加密字段数={}", clazz.getSimpleName(), fields.size());
+        }
+        return fields;
+    }
+
+    /**
+     * 待加密字段
+     */
+    private static class PendingField {
+
+        private final Object target;
+        private final Field field;
+        private final String value;
+
+        private PendingField(Object target, Field field, String value) {
+            this.target = target;
+            this.field = field;
+            this.value = value;
+        }
+    }
+
+    /**
+     * 批量加密的分组键：密钥ID + 算法
+     */
+    private static final class BatchKey {
+
+        private final String keyId;
+        private final AlgorithmType algorithm;
+
+        private BatchKey(String keyId, AlgorithmType algorithm) {
+            this.keyId = keyId;
+            this.algorithm = algorithm;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof BatchKey)) {
+                return false;
+            }
+            BatchKey other = (BatchKey) o;
+            return keyId.equals(other.keyId) && algorithm == other.algorithm;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(keyId, algorithm);
+        }
+    }
+}
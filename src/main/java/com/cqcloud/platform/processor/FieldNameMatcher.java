@@ -0,0 +1,97 @@
+package com.cqcloud.platform.processor;
+
+import java.util.Collection;
+import java.util.StringJoiner;
+import java.util.regex.Pattern;
+
+/**
+ * 字段名约定匹配器
+ * 将包含与排除通配符模式（如 *phone*、*id）各自合并编译为一个忽略大小写的正则，
+ * 只在构建类的加密字段元数据时对每个字段名求值一次，逐行加解密时不再匹配
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+public class FieldNameMatcher {
+
+    /**
+     * 不匹配任何字段
+     */
+    public static final FieldNameMatcher NONE = new FieldNameMatcher(null, null);
+
+    private final Pattern include;
+    private final Pattern exclude;
+
+    private FieldNameMatcher(Pattern include, Pattern exclude) {
+        this.include = include;
+        this.exclude = exclude;
+    }
+
+    /**
+     * 编译包含与排除模式，支持 * 与 ? 通配符
+     * @param includePatterns 包含模式，为空时不匹配任何字段
+     * @param excludePatterns 排除模式，优先于包含模式
+     */
+    public static FieldNameMatcher compile(Collection<String> includePatterns, Collection<String> excludePatterns) {
+        Pattern include = toPattern(includePatterns);
+        if (include == null) {
+            return NONE;
+        }
+        return new FieldNameMatcher(include, toPattern(excludePatterns));
+    }
+
+    /**
+     * 字段名是否命中包含模式且未命中排除模式
+     */
+    public boolean matches(String fieldName) {
+        return include != null
+                && include.matcher(fieldName).matches()
+                && (exclude == null || !exclude.matcher(fieldName).matches());
+    }
+
+    /**
+     * 是否不匹配任何字段
+     */
+    public boolean isEmpty() {
+        return include == null;
+    }
+
+    /**
+     * 将通配符模式合并为一个正则：(?:p1|p2|...)
+     */
+    private static Pattern toPattern(Collection<String> globs) {
+        if (globs == null || globs.isEmpty()) {
+            return null;
+        }
+        StringJoiner regex = new StringJoiner("|", "(?:", ")");
+        for (String glob : globs) {
+            if (glob != null && !glob.trim().isEmpty()) {
+                regex.add(globToRegex(glob.trim()));
+            }
+        }
+        if (regex.length() == "(?:)".length()) {
+            return null;
+        }
+        return Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+    }
+
+    private static String globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        StringBuilder literal = new StringBuilder();
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*' || c == '?') {
+                if (literal.length() > 0) {
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                regex.append(c == '*' ? ".*" : ".");
+            } else {
+                literal.append(c);
+            }
+        }
+        if (literal.length() > 0) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        return regex.toString();
+    }
+}
@@ -0,0 +1,50 @@
+package com.cqcloud.platform.processor;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 字段原值快照
+ * 加密前记录被替换为密文的字段原值，写入完成后还原，调用方持有的实体始终保持明文
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+@Slf4j
+public class FieldSnapshot {
+
+    private final List<Object> targets = new ArrayList<>();
+    private final List<Field> fields = new ArrayList<>();
+    private final List<Object> values = new ArrayList<>();
+
+    /**
+     * 记录字段原值
+     */
+    void record(Object target, Field field, Object value) {
+        targets.add(target);
+        fields.add(field);
+        values.add(value);
+    }
+
+    /**
+     * 是否没有记录任何字段
+     */
+    public boolean isEmpty() {
+        return targets.isEmpty();
+    }
+
+    /**
+     * 还原所有记录的字段原值
+     */
+    public void restore() {
+        for (int i = targets.size() - 1; i >= 0; i--) {
+            try {
+                fields.get(i).set(targets.get(i), values.get(i));
+            } catch (IllegalAccessException e) {
+                log.error("还原字段原值失败: {}.{}", targets.get(i).getClass().getName(), fields.get(i).getName(), e);
+            }
+        }
+    }
+}
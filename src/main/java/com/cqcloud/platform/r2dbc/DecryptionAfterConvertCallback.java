@@ -0,0 +1,25 @@
+package com.cqcloud.platform.r2dbc;
+
+import com.cqcloud.platform.manager.ReactiveEncryptionManager;
+import lombok.RequiredArgsConstructor;
+import org.reactivestreams.Publisher;
+import org.springframework.data.r2dbc.mapping.event.AfterConvertCallback;
+import org.springframework.data.relational.core.sql.SqlIdentifier;
+
+/**
+ * R2DBC读取后解密回调
+ * 在数据库行转换为实体之后解密带有@Encrypted注解的字段；
+ * 租户取自查询链路 Reactor Context 中的 {@link com.cqcloud.platform.tenant.TenantContextHolder#CONTEXT_KEY}
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+@RequiredArgsConstructor
+public class DecryptionAfterConvertCallback implements AfterConvertCallback<Object> {
+
+    private final ReactiveEncryptionManager reactiveEncryptionManager;
+
+    @Override
+    public Publisher<Object> onAfterConvert(Object entity, SqlIdentifier table) {
+        return reactiveEncryptionManager.decryptFields(entity);
+    }
+}
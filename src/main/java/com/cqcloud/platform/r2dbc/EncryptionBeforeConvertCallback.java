@@ -0,0 +1,56 @@
+package com.cqcloud.platform.r2dbc;
+
+import com.cqcloud.platform.manager.ReactiveEncryptionManager;
+import com.cqcloud.platform.processor.FieldSnapshot;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.reactivestreams.Publisher;
+import org.springframework.data.r2dbc.mapping.OutboundRow;
+import org.springframework.data.r2dbc.mapping.event.AfterSaveCallback;
+import org.springframework.data.r2dbc.mapping.event.BeforeConvertCallback;
+import org.springframework.data.relational.core.sql.SqlIdentifier;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC写入前加密回调
+ * 在实体转换为数据库行之前加密带有@Encrypted注解的字段，并记录被替换的明文；
+ * 保存完成后按快照还原，调用方持有的实体与保存返回的实体始终保持明文。
+ * 快照按实体对象弱引用保存，保存失败时随实体一起回收（此时实体保持密文）。
+ * 租户取自保存链路 Reactor Context 中的 {@link com.cqcloud.platform.tenant.TenantContextHolder#CONTEXT_KEY}
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+public class EncryptionBeforeConvertCallback implements BeforeConvertCallback<Object>, AfterSaveCallback<Object> {
+
+    private final ReactiveEncryptionManager reactiveEncryptionManager;
+
+    /**
+     * 实体 -> 待还原的明文快照，按对象同一性比较
+     */
+    private final Cache<Object, FieldSnapshot> snapshots = CacheBuilder.newBuilder().weakKeys().build();
+
+    public EncryptionBeforeConvertCallback(ReactiveEncryptionManager reactiveEncryptionManager) {
+        this.reactiveEncryptionManager = reactiveEncryptionManager;
+    }
+
+    @Override
+    public Publisher<Object> onBeforeConvert(Object entity, SqlIdentifier table) {
+        FieldSnapshot snapshot = new FieldSnapshot();
+        return reactiveEncryptionManager.encryptFields(entity, snapshot)
+                .doOnNext(encrypted -> {
+                    if (!snapshot.isEmpty()) {
+                        snapshots.put(encrypted, snapshot);
+                    }
+                });
+    }
+
+    @Override
+    public Publisher<Object> onAfterSave(Object entity, OutboundRow outboundRow, SqlIdentifier table) {
+        FieldSnapshot snapshot = snapshots.getIfPresent(entity);
+        if (snapshot != null) {
+            snapshots.invalidate(entity);
+            snapshot.restore();
+        }
+        return Mono.just(entity);
+    }
+}
@@ -0,0 +1,38 @@
+package com.cqcloud.platform.strategy;
+
+import java.util.Arrays;
+
+/**
+ * 分组模式加解密器
+ * {@link CipherContext} 的底层实现，每个线程持有一个实例；输出格式统一为 IV + 密文
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+interface BlockModeCipher {
+
+    /**
+     * 使用iv[ivOffset, ivOffset + ivLength)加密，返回 IV + 密文
+     */
+    default byte[] seal(byte[] iv, int ivOffset, byte[] plaintext) throws Exception {
+        byte[] out = new byte[outputSize(plaintext.length)];
+        int length = seal(iv, ivOffset, plaintext, plaintext.length, out);
+        return length == out.length ? out : Arrays.copyOf(out, length);
+    }
+
+    /**
+     * 使用iv[ivOffset, ivOffset + ivLength)加密plaintext[0, plaintextLength)，将 IV + 密文 写入out起始处
+     * @param out 输出缓冲区，长度不小于 {@link #outputSize(int)}
+     * @return 写入的字节数
+     */
+    int seal(byte[] iv, int ivOffset, byte[] plaintext, int plaintextLength, byte[] out) throws Exception;
+
+    /**
+     * 加密指定长度明文时 IV + 密文 的最大长度
+     */
+    int outputSize(int plaintextLength);
+
+    /**
+     * 解密 IV + 密文
+     */
+    byte[] open(byte[] data) throws Exception;
+}
@@ -0,0 +1,311 @@
+package com.cqcloud.platform.strategy;
+
+import com.cqcloud.platform.enums.AlgorithmType;
+import com.cqcloud.platform.exception.DecryptException;
+import com.cqcloud.platform.exception.EncryptException;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 加密上下文
+ * 针对某个密钥与算法预先构建密钥规格，并为每个线程缓存一个Cipher实例，
+ * 避免每次加解密都重新查找Provider与创建对象（Provider由 {@link CipherProviders} 选择）；密文格式与对应的 {@link EncryptionStrategy} 保持一致：
+ * 标识前缀 + Base64(IV + 密文)；启用压缩的字段值在标识前缀后追加 {@value #COMPRESSED_MARKER}（不属于Base64字符表），
+ * 密文中为压缩后的数据，解密时自动解压
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+public class CipherContext {
+
+    private static final int GCM_IV_LENGTH = 12; // GCM推荐IV长度为12字节
+    private static final int CBC_IV_LENGTH = 16; // CBC的IV长度等于分组长度
+    static final int GCM_TAG_LENGTH = 128; // GCM标签长度128位
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    /**
+     * 压缩密文标记，紧跟在标识前缀之后
+     */
+    public static final char COMPRESSED_MARKER = '#';
+
+    static {
+        CipherProviders.ensureBouncyCastle();
+    }
+
+    private final AlgorithmType algorithm;
+    private final String flag;
+    private final SecretKeySpec keySpec;
+    private final int ivLength;
+    private final String provider;
+    private final ThreadLocal<BlockModeCipher> ciphers;
+
+    public CipherContext(AlgorithmType algorithm, byte[] key) {
+        this(algorithm, key, CipherProviders.providerFor(algorithm));
+    }
+
+    /**
+     * @param algorithm 算法
+     * @param key 密钥
+     * @param provider Provider名称（或 {@link CipherProviders#FAST_SM4}），不同Provider产生的密文格式一致
+     */
+    public CipherContext(AlgorithmType algorithm, byte[] key, String provider) {
+        this.algorithm = algorithm;
+        this.provider = provider;
+        this.flag = algorithm.getFlag();
+        this.keySpec = new SecretKeySpec(key, algorithm.getAlgorithm());
+        this.ivLength = algorithm.isAuthenticated() ? GCM_IV_LENGTH : CBC_IV_LENGTH;
+        this.ciphers = ThreadLocal.withInitial(() -> {
+            try {
+                if (CipherProviders.FAST_SM4.equals(provider)) {
+                    return new FastSm4ModeCipher(algorithm, keySpec.getEncoded(), ivLength);
+                }
+                return new JceModeCipher(algorithm, keySpec, ivLength, provider);
+            } catch (Exception e) {
+                throw new EncryptException("创建Cipher失败: " + algorithm + "/" + provider, e);
+            }
+        });
+    }
+
+    /**
+     * 加密字符串，返回带标识前缀的Base64密文
+     */
+    public String encrypt(String plaintext) {
+        if (plaintext == null || plaintext.isEmpty() || isEncrypted(plaintext)) {
+            return plaintext;
+        }
+        byte[] iv = new byte[ivLength];
+        SECURE_RANDOM.nextBytes(iv);
+        return flag + Base64.getEncoder().encodeToString(
+                seal(ciphers.get(), iv, 0, plaintext.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * 批量加密，整批共享一次IV随机数生成与同一个Cipher实例
+     * 明文编码、密文与Base64文本都写入整批复用的缓冲区，每个字段只分配最终的密文字符串，
+     * 短字段批量加密时内存分配与拷贝不再主导单字段耗时
+     */
+    public List<String> encryptAll(List<String> plaintexts) {
+        int size = plaintexts.size();
+        byte[] ivs = new byte[size * ivLength];
+        SECURE_RANDOM.nextBytes(ivs);
+
+        BlockModeCipher cipher = ciphers.get();
+        BatchBuffer buffer = new BatchBuffer(flag);
+        List<String> result = new ArrayList<>(size);
+        try {
+            for (int i = 0; i < size; i++) {
+                String plaintext = plaintexts.get(i);
+                if (plaintext == null || plaintext.isEmpty() || isEncrypted(plaintext)) {
+                    result.add(plaintext);
+                    continue;
+                }
+                int plainLength = buffer.encodeUtf8(plaintext);
+                byte[] sealed = buffer.sealed(cipher.outputSize(plainLength));
+                int sealedLength = cipher.seal(ivs, i * ivLength, buffer.plain, plainLength, sealed);
+                result.add(buffer.toBase64String(sealed, sealedLength));
+            }
+        } catch (Exception e) {
+            throw new EncryptException(algorithm + "加密失败: " + e.getMessage(), e);
+        }
+        return result;
+    }
+
+    /**
+     * 解密带标识前缀的Base64密文，非本上下文格式的文本原样返回
+     */
+    public String decrypt(String ciphertext) {
+        if (!isEncrypted(ciphertext)) {
+            return ciphertext;
+        }
+        return new String(decryptToBytes(ciphertext), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 加密字符串，UTF-8编码后不小于阈值的值先压缩再加密（压缩无收益时不压缩）
+     * @param compressThreshold 压缩阈值（字节），小于0表示不压缩
+     */
+    public String encrypt(String plaintext, int compressThreshold) {
+        if (plaintext == null || plaintext.isEmpty() || isEncrypted(plaintext)) {
+            return plaintext;
+        }
+        if (compressThreshold < 0 || plaintext.length() * 3 < compressThreshold) {
+            return encrypt(plaintext);
+        }
+        return encryptToString(plaintext.getBytes(StandardCharsets.UTF_8), compressThreshold);
+    }
+
+    /**
+     * 加密二进制数据，返回 IV + 密文
+     */
+    public byte[] encrypt(byte[] plaintext) {
+        byte[] iv = new byte[ivLength];
+        SECURE_RANDOM.nextBytes(iv);
+        return seal(ciphers.get(), iv, 0, plaintext);
+    }
+
+    /**
+     * 解密 IV + 密文 格式的二进制数据
+     */
+    public byte[] decrypt(byte[] data) {
+        if (data.length <= ivLength) {
+            throw new DecryptException("加密数据格式错误: 数据太短");
+        }
+        try {
+            return ciphers.get().open(data);
+        } catch (Exception e) {
+            throw new DecryptException(algorithm + "解密失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 加密二进制数据，返回带标识前缀的Base64密文，用于编码后的类型化字段值
+     */
+    public String encryptToString(byte[] plaintext) {
+        return flag + Base64.getEncoder().encodeToString(encrypt(plaintext));
+    }
+
+    /**
+     * 加密二进制数据，不小于阈值的数据先压缩再加密（压缩无收益时不压缩），返回带标识前缀的Base64密文
+     * @param compressThreshold 压缩阈值（字节），小于0表示不压缩
+     */
+    public String encryptToString(byte[] plaintext, int compressThreshold) {
+        if (compressThreshold >= 0 && plaintext.length >= compressThreshold) {
+            byte[] compressed = FieldCompression.compress(plaintext);
+            if (compressed != null) {
+                return flag + COMPRESSED_MARKER + Base64.getEncoder().encodeToString(encrypt(compressed));
+            }
+        }
+        return encryptToString(plaintext);
+    }
+
+    /**
+     * 解密带标识前缀的Base64密文，返回明文字节，压缩的密文自动解压
+     */
+    public byte[] decryptToBytes(String ciphertext) {
+        if (!isEncrypted(ciphertext)) {
+            throw new DecryptException("加密数据格式错误: 缺少" + flag + "前缀");
+        }
+        boolean compressed = isCompressed(ciphertext);
+        byte[] data = Base64.getDecoder().decode(ciphertext.substring(flag.length() + (compressed ? 1 : 0)));
+        return compressed ? FieldCompression.decompress(decrypt(data)) : decrypt(data);
+    }
+
+    /**
+     * 检查是否为压缩后加密的密文
+     */
+    public boolean isCompressed(String ciphertext) {
+        return ciphertext.length() > flag.length() && ciphertext.charAt(flag.length()) == COMPRESSED_MARKER;
+    }
+
+    /**
+     * 检查是否为本上下文算法的密文
+     */
+    public boolean isEncrypted(String text) {
+        return text != null && text.startsWith(flag);
+    }
+
+    public AlgorithmType getAlgorithm() {
+        return algorithm;
+    }
+
+    public String getProvider() {
+        return provider;
+    }
+
+    /**
+     * 使用指定IV加密，返回 IV + 密文，仅用于Provider兼容性检查与基准测试
+     */
+    byte[] encrypt(byte[] iv, byte[] plaintext) {
+        return seal(ciphers.get(), iv, 0, plaintext);
+    }
+
+    /**
+     * 使用iv[ivOffset, ivOffset + ivLength)加密，返回 IV + 密文
+     */
+    private byte[] seal(BlockModeCipher cipher, byte[] iv, int ivOffset, byte[] plaintext) {
+        try {
+            return cipher.seal(iv, ivOffset, plaintext);
+        } catch (Exception e) {
+            throw new EncryptException(algorithm + "加密失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 批量加密的复用缓冲区
+     */
+    private static final class BatchBuffer {
+
+        private static final byte[] BASE64 =
+                "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".getBytes(StandardCharsets.US_ASCII);
+
+        private final int flagLength;
+        private byte[] plain = new byte[64];
+        private byte[] sealed = new byte[128];
+        private byte[] text;
+
+        private BatchBuffer(String flag) {
+            byte[] flagBytes = flag.getBytes(StandardCharsets.US_ASCII);
+            this.flagLength = flagBytes.length;
+            this.text = Arrays.copyOf(flagBytes, flagLength + 192);
+        }
+
+        /**
+         * 将明文按UTF-8写入plain，返回字节数；纯ASCII文本直接逐字符写入
+         */
+        private int encodeUtf8(String value) {
+            int length = value.length();
+            if (plain.length < length * 3) {
+                plain = new byte[length * 3];
+            }
+            for (int i = 0; i < length; i++) {
+                char c = value.charAt(i);
+                if (c >= 0x80) {
+                    byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+                    System.arraycopy(encoded, 0, plain, 0, encoded.length);
+                    return encoded.length;
+                }
+                plain[i] = (byte) c;
+            }
+            return length;
+        }
+
+        private byte[] sealed(int capacity) {
+            if (sealed.length < capacity) {
+                sealed = new byte[capacity];
+            }
+            return sealed;
+        }
+
+        /**
+         * 标识前缀 + Base64(data[0, length))
+         */
+        private String toBase64String(byte[] data, int length) {
+            int textLength = flagLength + (length + 2) / 3 * 4;
+            if (text.length < textLength) {
+                text = Arrays.copyOf(text, textLength);
+            }
+            int out = flagLength;
+            int i = 0;
+            for (; i + 3 <= length; i += 3) {
+                int bits = (data[i] & 0xff) << 16 | (data[i + 1] & 0xff) << 8 | (data[i + 2] & 0xff);
+                text[out++] = BASE64[bits >>> 18];
+                text[out++] = BASE64[(bits >>> 12) & 0x3f];
+                text[out++] = BASE64[(bits >>> 6) & 0x3f];
+                text[out++] = BASE64[bits & 0x3f];
+            }
+            if (i < length) {
+                int bits = (data[i] & 0xff) << 16 | (i + 1 < length ? (data[i + 1] & 0xff) << 8 : 0);
+                text[out++] = BASE64[bits >>> 18];
+                text[out++] = BASE64[(bits >>> 12) & 0x3f];
+                text[out++] = i + 1 < length ? BASE64[(bits >>> 6) & 0x3f] : (byte) '=';
+                text[out++] = '=';
+            }
+            return new String(text, 0, out, StandardCharsets.ISO_8859_1);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.cqcloud.platform.strategy;
+
+import com.cqcloud.platform.enums.AlgorithmType;
+import lombok.extern.slf4j.Slf4j;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.springframework.core.NativeDetector;
+
+import javax.crypto.Cipher;
+import java.security.Security;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 加密Provider选择
+ * 为每种算法选择一个可用且与BouncyCastle密文互通的Provider：默认优先使用JDK自带的SunJCE
+ * （AES-GCM/CBC可使用HotSpot的AES-NI与CLMUL内建指令），SM4优先使用通过国标向量自检的内置查表实现，
+ * 自检失败时回退到BouncyCastle；
+ * 可开启启动时基准测试选择最快的Provider，也可通过配置为指定算法强制使用某个Provider
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+@Slf4j
+public final class CipherProviders {
+
+    public static final String SUN_JCE = "SunJCE";
+    public static final String BOUNCY_CASTLE = BouncyCastleProvider.PROVIDER_NAME;
+
+    /**
+     * 内置查表SM4实现（{@link FastSm4Engine}），不是JCA Provider，只用于 {@link CipherContext}
+     */
+    public static final String FAST_SM4 = "FastSM4";
+
+    private static final List<String> PREFERENCE = Arrays.asList(FAST_SM4, SUN_JCE, BOUNCY_CASTLE);
+    private static final int BENCHMARK_PAYLOAD = 1024;
+    private static final int BENCHMARK_ITERATIONS = 2000;
+
+    private static final Map<AlgorithmType, String> SELECTED = new EnumMap<>(AlgorithmType.class);
+
+    static {
+        ensureBouncyCastle();
+    }
+
+    private CipherProviders() {
+    }
+
+    /**
+     * 注册BouncyCastle Provider（仅注册一次）
+     */
+    public static void ensureBouncyCastle() {
+        if (Security.getProvider(BOUNCY_CASTLE) == null) {
+            Security.addProvider(new BouncyCastleProvider());
+        }
+    }
+
+    /**
+     * 根据配置选择各算法的Provider并记录日志
+     * @param overrides 算法 -> 强制使用的Provider名称
+     * @param benchmark 是否通过基准测试在兼容的Provider中选择最快的
+     */
+    public static synchronized void configure(Map<AlgorithmType, String> overrides, boolean benchmark) {
+        if (benchmark && NativeDetector.inNativeImage()) {
+            // 原生镜像没有JIT预热，基准结果不能代表稳态性能，只会拖慢启动
+            log.info("原生镜像中跳过加密Provider基准测试，按默认优先级选择");
+            benchmark = false;
+        }
+        for (AlgorithmType algorithm : AlgorithmType.values()) {
+            String override = overrides != null ? overrides.get(algorithm) : null;
+            String provider = override != null ? checkOverride(algorithm, override) : select(algorithm, benchmark);
+            SELECTED.put(algorithm, provider);
+            log.info("加密Provider: {} -> {}{}", algorithm, provider, override != null ? "（配置指定）" : "");
+        }
+    }
+
+    /**
+     * 获取算法使用的JCA Provider名称，供需要直接创建 {@link Cipher} 的场景（策略类、流式加密）使用
+     */
+    public static String jceProviderFor(AlgorithmType algorithm) {
+        String provider = providerFor(algorithm);
+        return FAST_SM4.equals(provider) ? BOUNCY_CASTLE : provider;
+    }
+
+    /**
+     * 获取算法使用的Provider名称，未配置时按默认优先级选择
+     */
+    public static synchronized String providerFor(AlgorithmType algorithm) {
+        String provider = SELECTED.get(algorithm);
+        if (provider == null) {
+            provider = select(algorithm, false);
+            SELECTED.put(algorithm, provider);
+        }
+        return provider;
+    }
+
+    private static String checkOverride(AlgorithmType algorithm, String provider) {
+        if (!isAvailable(provider)) {
+            throw new IllegalArgumentException("加密Provider不存在: " + provider);
+        }
+        if (!isCompatible(algorithm, provider)) {
+            throw new IllegalArgumentException("加密Provider " + provider + " 不支持 " + algorithm + " 或密文不兼容");
+        }
+        return provider;
+    }
+
+    private static String select(AlgorithmType algorithm, boolean benchmark) {
+        List<String> candidates = new ArrayList<>();
+        for (String provider : PREFERENCE) {
+            if (isAvailable(provider) && isCompatible(algorithm, provider)) {
+                candidates.add(provider);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return BOUNCY_CASTLE;
+        }
+        if (!benchmark || candidates.size() == 1) {
+            return candidates.get(0);
+        }
+
+        String fastest = candidates.get(0);
+        long best = Long.MAX_VALUE;
+        for (String provider : candidates) {
+            long nanos = measure(algorithm, provider);
+            log.debug("加密Provider基准: {} {} {}次 {}KB 耗时 {}ms", algorithm, provider,
+                    BENCHMARK_ITERATIONS, BENCHMARK_PAYLOAD / 1024, nanos / 1_000_000);
+            if (nanos < best) {
+                best = nanos;
+                fastest = provider;
+            }
+        }
+        return fastest;
+    }
+
+    private static boolean isAvailable(String provider) {
+        if (FAST_SM4.equals(provider)) {
+            return FastSm4Engine.selfTest();
+        }
+        return Security.getProvider(provider) != null;
+    }
+
+    /**
+     * 检查Provider是否支持该算法，且与BouncyCastle互相加解密结果一致
+     */
+    private static boolean isCompatible(AlgorithmType algorithm, String provider) {
+        if (FAST_SM4.equals(provider) && !"SM4".equals(algorithm.getAlgorithm())) {
+            return false;
+        }
+        try {
+            byte[] key = new byte[algorithm.getKeySize() / 8];
+            Arrays.fill(key, (byte) 0x3c);
+            byte[] iv = new byte[algorithm.isAuthenticated() ? 12 : 16];
+            byte[] plaintext = new byte[37];
+            Arrays.fill(plaintext, (byte) 0x5a);
+
+            CipherContext candidate = new CipherContext(algorithm, key, provider);
+            CipherContext reference = new CipherContext(algorithm, key, BOUNCY_CASTLE);
+            byte[] expected = reference.encrypt(iv, plaintext);
+            return Arrays.equals(expected, candidate.encrypt(iv, plaintext))
+                    && Arrays.equals(plaintext, candidate.decrypt(expected));
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static long measure(AlgorithmType algorithm, String provider) {
+        try {
+            CipherContext context = new CipherContext(algorithm, new byte[algorithm.getKeySize() / 8], provider);
+            byte[] iv = new byte[algorithm.isAuthenticated() ? 12 : 16];
+            byte[] plaintext = new byte[BENCHMARK_PAYLOAD];
+            // 预热一轮，让JIT编译加密路径
+            long elapsed = 0;
+            for (int round = 0; round < 2; round++) {
+                long start = System.nanoTime();
+                for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+                    // GCM不允许同一密钥重复使用IV加密，每次改变IV
+                    iv[0] = (byte) i;
+                    iv[1] = (byte) (i >>> 8);
+                    iv[2] = (byte) round;
+                    context.encrypt(iv, plaintext);
+                }
+                elapsed = System.nanoTime() - start;
+            }
+            return elapsed;
+        } catch (Exception e) {
+            return Long.MAX_VALUE;
+        }
+    }
+}
@@ -35,4 +35,14 @@ public interface EncryptionStrategy {
      * 是否支持该算法
      */
     boolean supports(AlgorithmType algorithm);
+
+    /**
+     * 创建可复用的加密上下文，密文格式与本策略一致
+     * @param key 密钥
+     * @param algorithm 算法类型
+     * @return 加密上下文
+     */
+    default CipherContext createContext(byte[] key, AlgorithmType algorithm) {
+        return new CipherContext(algorithm, key);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,210 @@
+package com.cqcloud.platform.strategy;
+
+import org.bouncycastle.crypto.BlockCipher;
+import org.bouncycastle.crypto.CipherParameters;
+import org.bouncycastle.crypto.DataLengthException;
+import org.bouncycastle.crypto.params.KeyParameter;
+import org.bouncycastle.util.encoders.Hex;
+
+import java.util.Arrays;
+
+/**
+ * 查表实现的SM4分组密码
+ * 将S盒替换τ与线性变换L合并为4张256项的32位查找表，每轮只需4次查表与异或，
+ * 替代BouncyCastle通用SM4Engine中逐字节S盒替换后再做循环移位的实现；
+ * 实现BouncyCastle的 {@link BlockCipher} 接口，可直接用于其GCM/CBC模式
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+public class FastSm4Engine implements BlockCipher {
+
+    private static final int BLOCK_SIZE = 16;
+    private static final int ROUNDS = 32;
+
+    private static final int[] SBOX = {
+            0xd6, 0x90, 0xe9, 0xfe, 0xcc, 0xe1, 0x3d, 0xb7, 0x16, 0xb6, 0x14, 0xc2, 0x28, 0xfb, 0x2c, 0x05,
+            0x2b, 0x67, 0x9a, 0x76, 0x2a, 0xbe, 0x04, 0xc3, 0xaa, 0x44, 0x13, 0x26, 0x49, 0x86, 0x06, 0x99,
+            0x9c, 0x42, 0x50, 0xf4, 0x91, 0xef, 0x98, 0x7a, 0x33, 0x54, 0x0b, 0x43, 0xed, 0xcf, 0xac, 0x62,
+            0xe4, 0xb3, 0x1c, 0xa9, 0xc9, 0x08, 0xe8, 0x95, 0x80, 0xdf, 0x94, 0xfa, 0x75, 0x8f, 0x3f, 0xa6,
+            0x47, 0x07, 0xa7, 0xfc, 0xf3, 0x73, 0x17, 0xba, 0x83, 0x59, 0x3c, 0x19, 0xe6, 0x85, 0x4f, 0xa8,
+            0x68, 0x6b, 0x81, 0xb2, 0x71, 0x64, 0xda, 0x8b, 0xf8, 0xeb, 0x0f, 0x4b, 0x70, 0x56, 0x9d, 0x35,
+            0x1e, 0x24, 0x0e, 0x5e, 0x63, 0x58, 0xd1, 0xa2, 0x25, 0x22, 0x7c, 0x3b, 0x01, 0x21, 0x78, 0x87,
+            0xd4, 0x00, 0x46, 0x57, 0x9f, 0xd3, 0x27, 0x52, 0x4c, 0x36, 0x02, 0xe7, 0xa0, 0xc4, 0xc8, 0x9e,
+            0xea, 0xbf, 0x8a, 0xd2, 0x40, 0xc7, 0x38, 0xb5, 0xa3, 0xf7, 0xf2, 0xce, 0xf9, 0x61, 0x15, 0xa1,
+            0xe0, 0xae, 0x5d, 0xa4, 0x9b, 0x34, 0x1a, 0x55, 0xad, 0x93, 0x32, 0x30, 0xf5, 0x8c, 0xb1, 0xe3,
+            0x1d, 0xf6, 0xe2, 0x2e, 0x82, 0x66, 0xca, 0x60, 0xc0, 0x29, 0x23, 0xab, 0x0d, 0x53, 0x4e, 0x6f,
+            0xd5, 0xdb, 0x37, 0x45, 0xde, 0xfd, 0x8e, 0x2f, 0x03, 0xff, 0x6a, 0x72, 0x6d, 0x6c, 0x5b, 0x51,
+            0x8d, 0x1b, 0xaf, 0x92, 0xbb, 0xdd, 0xbc, 0x7f, 0x11, 0xd9, 0x5c, 0x41, 0x1f, 0x10, 0x5a, 0xd8,
+            0x0a, 0xc1, 0x31, 0x88, 0xa5, 0xcd, 0x7b, 0xbd, 0x2d, 0x74, 0xd0, 0x12, 0xb8, 0xe5, 0xb4, 0xb0,
+            0x89, 0x69, 0x97, 0x4a, 0x0c, 0x96, 0x77, 0x7e, 0x65, 0xb9, 0xf1, 0x09, 0xc5, 0x6e, 0xc6, 0x84,
+            0x18, 0xf0, 0x7d, 0xec, 0x3a, 0xdc, 0x4d, 0x20, 0x79, 0xee, 0x5f, 0x3e, 0xd7, 0xcb, 0x39, 0x48
+    };
+
+    private static final int[] FK = {0xa3b1bac6, 0x56aa3350, 0x677d9197, 0xb27022dc};
+    private static final int[] CK = new int[ROUNDS];
+
+    /**
+     * T0[b] = L(S(b) << 24)，T1~T3为其循环右移8、16、24位
+     */
+    private static final int[] T0 = new int[256];
+    private static final int[] T1 = new int[256];
+    private static final int[] T2 = new int[256];
+    private static final int[] T3 = new int[256];
+
+    static {
+        for (int i = 0; i < ROUNDS; i++) {
+            int ck = 0;
+            for (int j = 0; j < 4; j++) {
+                ck = (ck << 8) | (((4 * i + j) * 7) & 0xff);
+            }
+            CK[i] = ck;
+        }
+        for (int b = 0; b < 256; b++) {
+            int t = linear(SBOX[b] << 24);
+            T0[b] = t;
+            T1[b] = Integer.rotateRight(t, 8);
+            T2[b] = Integer.rotateRight(t, 16);
+            T3[b] = Integer.rotateRight(t, 24);
+        }
+    }
+
+    private int[] roundKeys;
+
+    @Override
+    public void init(boolean forEncryption, CipherParameters params) {
+        if (!(params instanceof KeyParameter)) {
+            throw new IllegalArgumentException("SM4需要KeyParameter参数");
+        }
+        byte[] key = ((KeyParameter) params).getKey();
+        if (key.length != BLOCK_SIZE) {
+            throw new IllegalArgumentException("SM4密钥长度必须为128位");
+        }
+        roundKeys = expandKey(key, forEncryption);
+    }
+
+    @Override
+    public String getAlgorithmName() {
+        return "SM4";
+    }
+
+    @Override
+    public int getBlockSize() {
+        return BLOCK_SIZE;
+    }
+
+    @Override
+    public int processBlock(byte[] in, int inOff, byte[] out, int outOff) {
+        if (roundKeys == null) {
+            throw new IllegalStateException("SM4未初始化");
+        }
+        if (inOff + BLOCK_SIZE > in.length) {
+            throw new DataLengthException("输入数据不足一个分组");
+        }
+        if (outOff + BLOCK_SIZE > out.length) {
+            throw new DataLengthException("输出缓冲区不足一个分组");
+        }
+
+        int x0 = readInt(in, inOff);
+        int x1 = readInt(in, inOff + 4);
+        int x2 = readInt(in, inOff + 8);
+        int x3 = readInt(in, inOff + 12);
+        int[] rk = roundKeys;
+        // 每次循环完成4轮，避免寄存器轮换
+        for (int i = 0; i < ROUNDS; i += 4) {
+            x0 ^= t(x1 ^ x2 ^ x3 ^ rk[i]);
+            x1 ^= t(x2 ^ x3 ^ x0 ^ rk[i + 1]);
+            x2 ^= t(x3 ^ x0 ^ x1 ^ rk[i + 2]);
+            x3 ^= t(x0 ^ x1 ^ x2 ^ rk[i + 3]);
+        }
+        writeInt(x3, out, outOff);
+        writeInt(x2, out, outOff + 4);
+        writeInt(x1, out, outOff + 8);
+        writeInt(x0, out, outOff + 12);
+        return BLOCK_SIZE;
+    }
+
+    @Override
+    public void reset() {
+        // 无分组间状态
+    }
+
+    /**
+     * GB/T 32907-2016 附录A示例1自检：密钥与明文均为0123456789abcdeffedcba9876543210
+     * @return 加解密结果与标准一致时返回true
+     */
+    public static boolean selfTest() {
+        byte[] key = Hex.decode("0123456789abcdeffedcba9876543210");
+        byte[] expected = Hex.decode("681edf34d206965e86b3e94f536e4246");
+        byte[] block = new byte[BLOCK_SIZE];
+
+        FastSm4Engine engine = new FastSm4Engine();
+        engine.init(true, new KeyParameter(key));
+        engine.processBlock(key, 0, block, 0);
+        if (!Arrays.equals(expected, block)) {
+            return false;
+        }
+        engine.init(false, new KeyParameter(key));
+        engine.processBlock(expected, 0, block, 0);
+        return Arrays.equals(key, block);
+    }
+
+    private static int[] expandKey(byte[] key, boolean forEncryption) {
+        int k0 = readInt(key, 0) ^ FK[0];
+        int k1 = readInt(key, 4) ^ FK[1];
+        int k2 = readInt(key, 8) ^ FK[2];
+        int k3 = readInt(key, 12) ^ FK[3];
+        int[] rk = new int[ROUNDS];
+        for (int i = 0; i < ROUNDS; i += 4) {
+            k0 ^= keyT(k1 ^ k2 ^ k3 ^ CK[i]);
+            k1 ^= keyT(k2 ^ k3 ^ k0 ^ CK[i + 1]);
+            k2 ^= keyT(k3 ^ k0 ^ k1 ^ CK[i + 2]);
+            k3 ^= keyT(k0 ^ k1 ^ k2 ^ CK[i + 3]);
+            rk[i] = k0;
+            rk[i + 1] = k1;
+            rk[i + 2] = k2;
+            rk[i + 3] = k3;
+        }
+        if (!forEncryption) {
+            // 解密使用逆序轮密钥
+            for (int i = 0; i < ROUNDS / 2; i++) {
+                int tmp = rk[i];
+                rk[i] = rk[ROUNDS - 1 - i];
+                rk[ROUNDS - 1 - i] = tmp;
+            }
+        }
+        return rk;
+    }
+
+    /**
+     * 轮函数合成变换 T = L(τ(x))
+     */
+    private static int t(int x) {
+        return T0[x >>> 24] ^ T1[(x >>> 16) & 0xff] ^ T2[(x >>> 8) & 0xff] ^ T3[x & 0xff];
+    }
+
+    /**
+     * 密钥扩展合成变换 T' = L'(τ(x))
+     */
+    private static int keyT(int x) {
+        int b = (SBOX[x >>> 24] << 24) | (SBOX[(x >>> 16) & 0xff] << 16)
+                | (SBOX[(x >>> 8) & 0xff] << 8) | SBOX[x & 0xff];
+        return b ^ Integer.rotateLeft(b, 13) ^ Integer.rotateLeft(b, 23);
+    }
+
+    private static int linear(int b) {
+        return b ^ Integer.rotateLeft(b, 2) ^ Integer.rotateLeft(b, 10)
+                ^ Integer.rotateLeft(b, 18) ^ Integer.rotateLeft(b, 24);
+    }
+
+    private static int readInt(byte[] buffer, int offset) {
+        return (buffer[offset] << 24) | ((buffer[offset + 1] & 0xff) << 16)
+                | ((buffer[offset + 2] & 0xff) << 8) | (buffer[offset + 3] & 0xff);
+    }
+
+    private static void writeInt(int value, byte[] buffer, int offset) {
+        buffer[offset] = (byte) (value >>> 24);
+        buffer[offset + 1] = (byte) (value >>> 16);
+        buffer[offset + 2] = (byte) (value >>> 8);
+        buffer[offset + 3] = (byte) value;
+    }
+}
@@ -0,0 +1,107 @@
+package com.cqcloud.platform.strategy;
+
+import com.cqcloud.platform.enums.AlgorithmType;
+import org.bouncycastle.crypto.BufferedBlockCipher;
+import org.bouncycastle.crypto.modes.AEADBlockCipher;
+import org.bouncycastle.crypto.modes.CBCBlockCipher;
+import org.bouncycastle.crypto.modes.GCMBlockCipher;
+import org.bouncycastle.crypto.paddings.PKCS7Padding;
+import org.bouncycastle.crypto.paddings.PaddedBufferedBlockCipher;
+import org.bouncycastle.crypto.params.AEADParameters;
+import org.bouncycastle.crypto.params.KeyParameter;
+import org.bouncycastle.crypto.params.ParametersWithIV;
+
+import java.util.Arrays;
+
+/**
+ * 基于 {@link FastSm4Engine} 与BouncyCastle轻量级GCM/CBC模式的SM4加解密器
+ * 不经过JCA Provider查找与参数转换，密文与BouncyCastle JCA实现完全一致；
+ * 首次初始化后只更换IV、复用轮密钥与GHASH乘法表，短字段不再为每次调用重复密钥扩展与查表预计算
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+class FastSm4ModeCipher implements BlockModeCipher {
+
+    private static final int BLOCK_SIZE = 16;
+
+    private final KeyParameter key;
+    private final int ivLength;
+    private final AEADBlockCipher gcm;
+    private final BufferedBlockCipher cbc;
+
+    /**
+     * GCM是否已用密钥初始化过
+     */
+    private boolean gcmKeyed;
+
+    /**
+     * CBC当前密钥对应的方向，null表示尚未初始化（CBC更换方向时必须重新提供密钥）
+     */
+    private Boolean cbcEncrypting;
+
+    FastSm4ModeCipher(AlgorithmType algorithm, byte[] key, int ivLength) {
+        this.key = new KeyParameter(key);
+        this.ivLength = ivLength;
+        if (algorithm.isAuthenticated()) {
+            this.gcm = GCMBlockCipher.newInstance(new FastSm4Engine());
+            this.cbc = null;
+        } else {
+            this.gcm = null;
+            this.cbc = new PaddedBufferedBlockCipher(CBCBlockCipher.newInstance(new FastSm4Engine()), new PKCS7Padding());
+        }
+    }
+
+    @Override
+    public int seal(byte[] iv, int ivOffset, byte[] plaintext, int plaintextLength, byte[] out) throws Exception {
+        byte[] nonce = Arrays.copyOfRange(iv, ivOffset, ivOffset + ivLength);
+        System.arraycopy(nonce, 0, out, 0, ivLength);
+        if (gcm != null) {
+            initGcm(true, nonce);
+            int length = gcm.processBytes(plaintext, 0, plaintextLength, out, ivLength);
+            return ivLength + length + gcm.doFinal(out, ivLength + length);
+        }
+        initCbc(true, nonce);
+        int length = cbc.processBytes(plaintext, 0, plaintextLength, out, ivLength);
+        return ivLength + length + cbc.doFinal(out, ivLength + length);
+    }
+
+    @Override
+    public int outputSize(int plaintextLength) {
+        return ivLength + (gcm != null
+                ? plaintextLength + CipherContext.GCM_TAG_LENGTH / 8
+                : (plaintextLength / BLOCK_SIZE + 1) * BLOCK_SIZE);
+    }
+
+    @Override
+    public byte[] open(byte[] data) throws Exception {
+        byte[] nonce = Arrays.copyOf(data, ivLength);
+        int inputLength = data.length - ivLength;
+        if (gcm != null) {
+            initGcm(false, nonce);
+            byte[] out = new byte[gcm.getOutputSize(inputLength)];
+            int length = gcm.processBytes(data, ivLength, inputLength, out, 0);
+            length += gcm.doFinal(out, length);
+            return trim(out, length);
+        }
+        initCbc(false, nonce);
+        byte[] out = new byte[cbc.getOutputSize(inputLength)];
+        int length = cbc.processBytes(data, ivLength, inputLength, out, 0);
+        length += cbc.doFinal(out, length);
+        return trim(out, length);
+    }
+
+    private void initGcm(boolean forEncryption, byte[] nonce) {
+        gcm.init(forEncryption, new AEADParameters(gcmKeyed ? null : key, CipherContext.GCM_TAG_LENGTH, nonce));
+        gcmKeyed = true;
+    }
+
+    private void initCbc(boolean forEncryption, byte[] nonce) {
+        boolean rekey = cbcEncrypting == null || cbcEncrypting != forEncryption;
+        cbc.init(forEncryption, new ParametersWithIV(rekey ? key : null, nonce));
+        cbcEncrypting = forEncryption;
+    }
+
+    private static byte[] trim(byte[] buffer, int length) {
+        return length == buffer.length ? buffer : Arrays.copyOf(buffer, length);
+    }
+}
@@ -0,0 +1,83 @@
+package com.cqcloud.platform.strategy;
+
+import com.cqcloud.platform.exception.DecryptException;
+
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 字段压缩
+ * 加密前以Deflate（最快级别）压缩较大的字段值，压缩结果为 原始长度(4字节) + 压缩数据；
+ * 解压时按记录的原始长度一次分配输出，长度不符视为数据损坏。压缩器与解压器按线程复用
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+final class FieldCompression {
+
+    private static final ThreadLocal<Deflater> DEFLATERS =
+            ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_SPEED, true));
+    private static final ThreadLocal<Inflater> INFLATERS = ThreadLocal.withInitial(() -> new Inflater(true));
+
+    private FieldCompression() {
+    }
+
+    /**
+     * 压缩数据，压缩后不小于原数据时返回null
+     */
+    static byte[] compress(byte[] data) {
+        Deflater deflater = DEFLATERS.get();
+        deflater.reset();
+        deflater.setInput(data);
+        deflater.finish();
+        // 不超过原数据大小，放不下即说明不值得压缩
+        byte[] output = new byte[data.length];
+        ByteBuffer.wrap(output).putInt(data.length);
+        int length = Integer.BYTES;
+        while (!deflater.finished() && length < output.length) {
+            length += deflater.deflate(output, length, output.length - length);
+        }
+        if (!deflater.finished()) {
+            return null;
+        }
+        byte[] result = new byte[length];
+        System.arraycopy(output, 0, result, 0, length);
+        return result;
+    }
+
+    /**
+     * 解压 {@link #compress(byte[])} 的结果
+     */
+    static byte[] decompress(byte[] data) {
+        if (data.length < Integer.BYTES) {
+            throw new DecryptException("压缩数据格式错误: 数据太短");
+        }
+        int originalLength = ByteBuffer.wrap(data).getInt();
+        if (originalLength < 0 || originalLength > (data.length - Integer.BYTES) * 1032L + 64) {
+            throw new DecryptException("压缩数据格式错误: 原始长度无效");
+        }
+        Inflater inflater = INFLATERS.get();
+        inflater.reset();
+        inflater.setInput(data, Integer.BYTES, data.length - Integer.BYTES);
+        byte[] output = new byte[originalLength];
+        try {
+            int length = 0;
+            while (length < originalLength) {
+                int inflated = inflater.inflate(output, length, originalLength - length);
+                if (inflated == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += inflated;
+            }
+            // 输出写满后再读取结束标记，确认数据恰好结束
+            if (length != originalLength || (!inflater.finished() && inflater.inflate(new byte[1]) != 0)
+                    || !inflater.finished()) {
+                throw new DecryptException("压缩数据格式错误: 解压长度不符");
+            }
+        } catch (DataFormatException e) {
+            throw new DecryptException("解压失败: " + e.getMessage(), e);
+        }
+        return output;
+    }
+}
@@ -0,0 +1,57 @@
+package com.cqcloud.platform.strategy;
+
+import com.cqcloud.platform.enums.AlgorithmType;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.spec.AlgorithmParameterSpec;
+
+/**
+ * 基于JCA {@link Cipher} 的分组模式加解密器
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+class JceModeCipher implements BlockModeCipher {
+
+    private static final int BLOCK_SIZE = 16;
+
+    private final AlgorithmType algorithm;
+    private final SecretKeySpec keySpec;
+    private final int ivLength;
+    private final Cipher cipher;
+
+    JceModeCipher(AlgorithmType algorithm, SecretKeySpec keySpec, int ivLength, String provider) throws Exception {
+        this.algorithm = algorithm;
+        this.keySpec = keySpec;
+        this.ivLength = ivLength;
+        this.cipher = Cipher.getInstance(algorithm.getTransformation(), provider);
+    }
+
+    @Override
+    public int seal(byte[] iv, int ivOffset, byte[] plaintext, int plaintextLength, byte[] out) throws Exception {
+        cipher.init(Cipher.ENCRYPT_MODE, keySpec, parameterSpec(iv, ivOffset));
+        System.arraycopy(iv, ivOffset, out, 0, ivLength);
+        return ivLength + cipher.doFinal(plaintext, 0, plaintextLength, out, ivLength);
+    }
+
+    @Override
+    public int outputSize(int plaintextLength) {
+        return ivLength + (algorithm.isAuthenticated()
+                ? plaintextLength + CipherContext.GCM_TAG_LENGTH / 8
+                : (plaintextLength / BLOCK_SIZE + 1) * BLOCK_SIZE);
+    }
+
+    @Override
+    public byte[] open(byte[] data) throws Exception {
+        cipher.init(Cipher.DECRYPT_MODE, keySpec, parameterSpec(data, 0));
+        return cipher.doFinal(data, ivLength, data.length - ivLength);
+    }
+
+    private AlgorithmParameterSpec parameterSpec(byte[] buffer, int offset) {
+        return algorithm.isAuthenticated()
+                ? new GCMParameterSpec(CipherContext.GCM_TAG_LENGTH, buffer, offset, ivLength)
+                : new IvParameterSpec(buffer, offset, ivLength);
+    }
+}
@@ -3,9 +3,10 @@ package com.cqcloud.platform.strategy.impl;
 import com.cqcloud.platform.enums.AlgorithmType;
 import com.cqcloud.platform.exception.DecryptException;
 import com.cqcloud.platform.exception.EncryptException;
+import com.cqcloud.platform.strategy.CipherContext;
+import com.cqcloud.platform.strategy.CipherProviders;
 import com.cqcloud.platform.strategy.EncryptionStrategy;
 import lombok.extern.slf4j.Slf4j;
-import org.bouncycastle.jce.provider.BouncyCastleProvider;
 
 import javax.crypto.Cipher;
 import javax.crypto.KeyGenerator;
@@ -14,7 +15,6 @@ import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
-import java.security.Security;
 import java.util.Base64;
 import java.util.Map;
 
@@ -31,7 +31,7 @@ public class AesGcmEncryptionStrategy implements EncryptionStrategy {
     private static final int GCM_TAG_LENGTH = 128; // GCM标签长度128位
 
     static {
-        Security.addProvider(new BouncyCastleProvider());
+        CipherProviders.ensureBouncyCastle();
     }
 
     @Override
@@ -54,7 +54,7 @@ public class AesGcmEncryptionStrategy implements EncryptionStrategy {
             GCMParameterSpec gcmParameterSpec = new GCMParameterSpec(GCM_TAG_LENGTH, iv);
 
             // 初始化加密器
-            Cipher cipher = Cipher.getInstance(algorithm.getTransformation(), "BC");
+            Cipher cipher = Cipher.getInstance(algorithm.getTransformation(), CipherProviders.jceProviderFor(algorithm));
             cipher.init(Cipher.ENCRYPT_MODE, secretKeySpec, gcmParameterSpec);
 
             // 执行加密
@@ -86,6 +86,12 @@ public class AesGcmEncryptionStrategy implements EncryptionStrategy {
             return ciphertext;
         }
 
+        // 压缩后加密的字段值由加密上下文解密并解压
+        if (ciphertext.length() > ENCRYPTION_FLAG.length()
+                && ciphertext.charAt(ENCRYPTION_FLAG.length()) == CipherContext.COMPRESSED_MARKER) {
+            return createContext(key, AlgorithmType.AES_GCM).decrypt(ciphertext);
+        }
+
         try {
             // 移除标识前缀
             String encryptedBase64 = ciphertext.substring(ENCRYPTION_FLAG.length());
@@ -104,7 +110,7 @@ public class AesGcmEncryptionStrategy implements EncryptionStrategy {
             GCMParameterSpec gcmParameterSpec = new GCMParameterSpec(GCM_TAG_LENGTH, iv);
 
             // 初始化解密器
-            Cipher cipher = Cipher.getInstance(algorithm.getTransformation(), "BC");
+            Cipher cipher = Cipher.getInstance(algorithm.getTransformation(), CipherProviders.jceProviderFor(algorithm));
             cipher.init(Cipher.DECRYPT_MODE, secretKeySpec, gcmParameterSpec);
 
             // 执行解密
@@ -134,7 +140,7 @@ public class AesGcmEncryptionStrategy implements EncryptionStrategy {
     /**
      * 检查是否已加密
      */
-    private boolean isEncrypted(String text) {
+    public boolean isEncrypted(String text) {
         return text != null && text.startsWith(ENCRYPTION_FLAG);
     }
 
@@ -3,9 +3,10 @@ package com.cqcloud.platform.strategy.impl;
 import com.cqcloud.platform.enums.AlgorithmType;
 import com.cqcloud.platform.exception.DecryptException;
 import com.cqcloud.platform.exception.EncryptException;
+import com.cqcloud.platform.strategy.CipherContext;
+import com.cqcloud.platform.strategy.CipherProviders;
 import com.cqcloud.platform.strategy.EncryptionStrategy;
 import lombok.extern.slf4j.Slf4j;
-import org.bouncycastle.jce.provider.BouncyCastleProvider;
 
 import javax.crypto.Cipher;
 import javax.crypto.KeyGenerator;
@@ -14,7 +15,6 @@ import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
-import java.security.Security;
 import java.util.Base64;
 import java.util.Map;
 
@@ -31,10 +31,7 @@ public class Sm4CbcEncryptionStrategy implements EncryptionStrategy {
     private static final String TRANSFORMATION = "SM4/CBC/PKCS5Padding";
 
     static {
-        // 注册BouncyCastle提供者
-        if (Security.getProvider(BouncyCastleProvider.PROVIDER_NAME) == null) {
-            Security.addProvider(new BouncyCastleProvider());
-        }
+        CipherProviders.ensureBouncyCastle();
     }
 
     @Override
@@ -57,7 +54,7 @@ public class Sm4CbcEncryptionStrategy implements EncryptionStrategy {
             IvParameterSpec ivParameterSpec = new IvParameterSpec(iv);
 
             // 初始化加密器
-            Cipher cipher = Cipher.getInstance(TRANSFORMATION, BouncyCastleProvider.PROVIDER_NAME);
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION, CipherProviders.jceProviderFor(AlgorithmType.SM4_CBC));
             cipher.init(Cipher.ENCRYPT_MODE, secretKeySpec, ivParameterSpec);
 
             // 执行加密
@@ -89,6 +86,12 @@ public class Sm4CbcEncryptionStrategy implements EncryptionStrategy {
             return ciphertext;
         }
 
+        // 压缩后加密的字段值由加密上下文解密并解压
+        if (ciphertext.length() > ENCRYPTION_FLAG.length()
+                && ciphertext.charAt(ENCRYPTION_FLAG.length()) == CipherContext.COMPRESSED_MARKER) {
+            return createContext(key, AlgorithmType.SM4_CBC).decrypt(ciphertext);
+        }
+
         try {
             // 移除标识前缀
             String encryptedBase64 = ciphertext.substring(ENCRYPTION_FLAG.length());
@@ -112,7 +115,7 @@ public class Sm4CbcEncryptionStrategy implements EncryptionStrategy {
             IvParameterSpec ivParameterSpec = new IvParameterSpec(iv);
 
             // 初始化解密器
-            Cipher cipher = Cipher.getInstance(TRANSFORMATION, BouncyCastleProvider.PROVIDER_NAME);
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION, CipherProviders.jceProviderFor(AlgorithmType.SM4_CBC));
             cipher.init(Cipher.DECRYPT_MODE, secretKeySpec, ivParameterSpec);
 
             // 执行解密
@@ -151,7 +154,7 @@ public class Sm4CbcEncryptionStrategy implements EncryptionStrategy {
      */
     public static byte[] generateKey() {
         try {
-            KeyGenerator keyGenerator = KeyGenerator.getInstance(SM4_ALGORITHM, BouncyCastleProvider.PROVIDER_NAME);
+            KeyGenerator keyGenerator = KeyGenerator.getInstance(SM4_ALGORITHM, CipherProviders.BOUNCY_CASTLE);
             keyGenerator.init(KEY_SIZE);
             SecretKey secretKey = keyGenerator.generateKey();
             return secretKey.getEncoded();
@@ -0,0 +1,96 @@
+package com.cqcloud.platform.stream;
+
+import com.cqcloud.platform.exception.DecryptException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 分段解密输入流
+ * 每次读取并认证一个完整分段后才返回其明文，内存占用与数据总量无关；
+ * 通过预读一个字节判断当前分段是否为末段，截断或重排的密文都会认证失败
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+public class DecryptingInputStream extends InputStream {
+
+    private final InputStream in;
+    private final byte[] key;
+    private SegmentCipher segmentCipher;
+    private byte[] ciphertextBuffer;
+    private byte[] plaintextBuffer;
+    private int plaintextLength;
+    private int plaintextPosition;
+    private long segmentIndex;
+    private int carry = -1;
+    private boolean lastSegmentRead;
+
+    DecryptingInputStream(InputStream in, byte[] key) {
+        this.in = in;
+        this.key = key;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        int n = read(single, 0, 1);
+        return n == -1 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        while (plaintextPosition == plaintextLength) {
+            if (lastSegmentRead) {
+                return -1;
+            }
+            readSegment();
+        }
+        int n = Math.min(len, plaintextLength - plaintextPosition);
+        System.arraycopy(plaintextBuffer, plaintextPosition, b, off, n);
+        plaintextPosition += n;
+        return n;
+    }
+
+    @Override
+    public int available() {
+        return plaintextLength - plaintextPosition;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private void readSegment() throws IOException {
+        if (segmentCipher == null) {
+            byte[] encodedHeader = new byte[StreamHeader.LENGTH];
+            if (in.readNBytes(encodedHeader, 0, encodedHeader.length) != encodedHeader.length) {
+                throw new DecryptException("流式密文头部被截断");
+            }
+            StreamHeader header = StreamHeader.parse(encodedHeader);
+            segmentCipher = new SegmentCipher(header, key);
+            ciphertextBuffer = new byte[header.segmentSize + SegmentCipher.TAG_LENGTH];
+            plaintextBuffer = new byte[header.segmentSize];
+        }
+
+        int length = 0;
+        if (carry >= 0) {
+            ciphertextBuffer[length++] = (byte) carry;
+            carry = -1;
+        }
+        length += in.readNBytes(ciphertextBuffer, length, ciphertextBuffer.length - length);
+
+        boolean last = length < ciphertextBuffer.length;
+        if (!last) {
+            carry = in.read();
+            last = carry == -1;
+        }
+
+        plaintextLength = segmentCipher.decrypt(segmentIndex++, last, ciphertextBuffer, length, plaintextBuffer);
+        plaintextPosition = 0;
+        lastSegmentRead = last;
+    }
+}
@@ -0,0 +1,83 @@
+package com.cqcloud.platform.stream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 分段加密输出流
+ * 仅缓冲一个分段的明文，内存占用与数据总量无关；
+ * 缓冲区写满后要等到下一次写入才加密，以便在close时正确标记末段
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+public class EncryptingOutputStream extends OutputStream {
+
+    private final OutputStream out;
+    private final StreamHeader header;
+    private final SegmentCipher segmentCipher;
+    private final byte[] plaintextBuffer;
+    private final byte[] ciphertextBuffer;
+    private int buffered;
+    private long segmentIndex;
+    private boolean headerWritten;
+    private boolean closed;
+
+    EncryptingOutputStream(OutputStream out, StreamHeader header, byte[] key) {
+        this.out = out;
+        this.header = header;
+        this.segmentCipher = new SegmentCipher(header, key);
+        this.plaintextBuffer = new byte[header.segmentSize];
+        this.ciphertextBuffer = new byte[header.segmentSize + SegmentCipher.TAG_LENGTH];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (closed) {
+            throw new IOException("流已关闭");
+        }
+        while (len > 0) {
+            if (buffered == plaintextBuffer.length) {
+                writeSegment(false);
+            }
+            int n = Math.min(len, plaintextBuffer.length - buffered);
+            System.arraycopy(b, off, plaintextBuffer, buffered, n);
+            buffered += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            writeSegment(true);
+            out.flush();
+        } finally {
+            closed = true;
+            out.close();
+        }
+    }
+
+    private void writeSegment(boolean last) throws IOException {
+        if (!headerWritten) {
+            out.write(header.encoded);
+            headerWritten = true;
+        }
+        int length = segmentCipher.encrypt(segmentIndex++, last, plaintextBuffer, buffered, ciphertextBuffer);
+        out.write(ciphertextBuffer, 0, length);
+        buffered = 0;
+    }
+}
@@ -0,0 +1,156 @@
+package com.cqcloud.platform.stream;
+
+import com.cqcloud.platform.exception.DecryptException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+
+/**
+ * 支持随机访问的分段解密通道（只读）
+ * 分段密文长度固定，可直接定位到目标分段并只解密该分段，用于范围读取；
+ * 仅缓存最近解密的一个分段，内存占用与文件大小无关
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+public class SeekableDecryptingChannel implements SeekableByteChannel {
+
+    private final SeekableByteChannel channel;
+    private final SegmentCipher segmentCipher;
+    private final int segmentSize;
+    private final int ciphertextSegmentSize;
+    private final long segmentCount;
+    private final int lastCiphertextLength;
+    private final long plaintextSize;
+    private final ByteBuffer ciphertextBuffer;
+    private final byte[] plaintextBuffer;
+    private long cachedSegment = -1;
+    private int cachedLength;
+    private long position;
+    private boolean open = true;
+
+    SeekableDecryptingChannel(SeekableByteChannel channel, byte[] key) throws IOException {
+        this.channel = channel;
+
+        ByteBuffer headerBuffer = ByteBuffer.allocate(StreamHeader.LENGTH);
+        readFully(0, headerBuffer);
+        StreamHeader header = StreamHeader.parse(headerBuffer.array());
+
+        this.segmentCipher = new SegmentCipher(header, key);
+        this.segmentSize = header.segmentSize;
+        this.ciphertextSegmentSize = segmentSize + SegmentCipher.TAG_LENGTH;
+
+        long ciphertextSize = channel.size() - StreamHeader.LENGTH;
+        if (ciphertextSize < SegmentCipher.TAG_LENGTH) {
+            throw new DecryptException("流式密文被截断");
+        }
+        this.segmentCount = (ciphertextSize + ciphertextSegmentSize - 1) / ciphertextSegmentSize;
+        this.lastCiphertextLength = (int) (ciphertextSize - (segmentCount - 1) * ciphertextSegmentSize);
+        if (lastCiphertextLength < SegmentCipher.TAG_LENGTH) {
+            throw new DecryptException("流式密文末段被截断");
+        }
+        this.plaintextSize = (segmentCount - 1) * segmentSize + lastCiphertextLength - SegmentCipher.TAG_LENGTH;
+        this.ciphertextBuffer = ByteBuffer.allocate(ciphertextSegmentSize);
+        this.plaintextBuffer = new byte[segmentSize];
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        ensureOpen();
+        if (position >= plaintextSize) {
+            return -1;
+        }
+        int total = 0;
+        while (dst.hasRemaining() && position < plaintextSize) {
+            long segment = position / segmentSize;
+            int offset = (int) (position % segmentSize);
+            loadSegment(segment);
+            int n = Math.min(dst.remaining(), cachedLength - offset);
+            dst.put(plaintextBuffer, offset, n);
+            position += n;
+            total += n;
+        }
+        return total;
+    }
+
+    @Override
+    public int write(ByteBuffer src) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public long position() throws IOException {
+        ensureOpen();
+        return position;
+    }
+
+    @Override
+    public SeekableByteChannel position(long newPosition) throws IOException {
+        ensureOpen();
+        if (newPosition < 0) {
+            throw new IllegalArgumentException("位置不能为负数: " + newPosition);
+        }
+        this.position = newPosition;
+        return this;
+    }
+
+    /**
+     * 明文总长度
+     */
+    @Override
+    public long size() throws IOException {
+        ensureOpen();
+        return plaintextSize;
+    }
+
+    @Override
+    public SeekableByteChannel truncate(long size) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public void close() throws IOException {
+        open = false;
+        channel.close();
+    }
+
+    /**
+     * 读取并认证指定分段
+     */
+    private void loadSegment(long segment) throws IOException {
+        if (segment == cachedSegment) {
+            return;
+        }
+        boolean last = segment == segmentCount - 1;
+        int length = last ? lastCiphertextLength : ciphertextSegmentSize;
+
+        ciphertextBuffer.clear().limit(length);
+        readFully(StreamHeader.LENGTH + segment * ciphertextSegmentSize, ciphertextBuffer);
+
+        cachedSegment = -1;
+        cachedLength = segmentCipher.decrypt(segment, last, ciphertextBuffer.array(), length, plaintextBuffer);
+        cachedSegment = segment;
+    }
+
+    private void readFully(long offset, ByteBuffer buffer) throws IOException {
+        channel.position(offset);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new DecryptException("流式密文被截断: offset=" + offset);
+            }
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (!open) {
+            throw new ClosedChannelException();
+        }
+    }
+}
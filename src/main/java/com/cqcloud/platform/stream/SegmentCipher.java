@@ -0,0 +1,98 @@
+package com.cqcloud.platform.stream;
+
+import com.cqcloud.platform.exception.DecryptException;
+import com.cqcloud.platform.exception.EncryptException;
+import com.cqcloud.platform.strategy.CipherProviders;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 分段加解密器（STREAM构造）
+ * 每个流使用HMAC-SHA256(主密钥, 盐)派生独立的分段密钥，
+ * 分段nonce为 [nonce前缀:7][分段序号:4][末段标记:1]，保证分段顺序与截断都能被认证
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+final class SegmentCipher {
+
+    static final int TAG_LENGTH = 16;
+    static final long MAX_SEGMENTS = 1L << 32;
+
+    private static final int NONCE_LENGTH = 12;
+    private static final byte[] KEY_INFO = "ylc-streaming-aead".getBytes(StandardCharsets.UTF_8);
+
+    static {
+        CipherProviders.ensureBouncyCastle();
+    }
+
+    private final StreamHeader header;
+    private final SecretKeySpec segmentKey;
+    private final Cipher cipher;
+    private final byte[] nonce = new byte[NONCE_LENGTH];
+
+    SegmentCipher(StreamHeader header, byte[] masterKey) {
+        this.header = header;
+        try {
+            this.segmentKey = new SecretKeySpec(deriveKey(masterKey, header.salt), header.algorithm.getAlgorithm());
+            this.cipher = Cipher.getInstance(header.algorithm.getTransformation(), CipherProviders.jceProviderFor(header.algorithm));
+        } catch (Exception e) {
+            throw new EncryptException("初始化流式加密器失败: " + e.getMessage(), e);
+        }
+        System.arraycopy(header.noncePrefix, 0, nonce, 0, StreamHeader.NONCE_PREFIX_LENGTH);
+    }
+
+    /**
+     * 加密一个分段，返回写入out的字节数
+     */
+    int encrypt(long index, boolean last, byte[] in, int length, byte[] out) {
+        try {
+            cipher.init(Cipher.ENCRYPT_MODE, segmentKey, new GCMParameterSpec(TAG_LENGTH * 8, nonce(index, last)));
+            cipher.updateAAD(header.encoded);
+            return cipher.doFinal(in, 0, length, out, 0);
+        } catch (Exception e) {
+            throw new EncryptException("分段加密失败: segment=" + index + ", " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 解密一个分段，返回写入out的字节数
+     */
+    int decrypt(long index, boolean last, byte[] in, int length, byte[] out) {
+        if (length < TAG_LENGTH) {
+            throw new DecryptException("分段密文被截断: segment=" + index);
+        }
+        try {
+            cipher.init(Cipher.DECRYPT_MODE, segmentKey, new GCMParameterSpec(TAG_LENGTH * 8, nonce(index, last)));
+            cipher.updateAAD(header.encoded);
+            return cipher.doFinal(in, 0, length, out, 0);
+        } catch (Exception e) {
+            throw new DecryptException("分段解密失败: segment=" + index + ", " + e.getMessage(), e);
+        }
+    }
+
+    private byte[] nonce(long index, boolean last) {
+        if (index < 0 || index >= MAX_SEGMENTS) {
+            throw new EncryptException("分段序号超出范围: " + index);
+        }
+        int offset = StreamHeader.NONCE_PREFIX_LENGTH;
+        nonce[offset] = (byte) (index >>> 24);
+        nonce[offset + 1] = (byte) (index >>> 16);
+        nonce[offset + 2] = (byte) (index >>> 8);
+        nonce[offset + 3] = (byte) index;
+        nonce[offset + 4] = (byte) (last ? 1 : 0);
+        return nonce;
+    }
+
+    private static byte[] deriveKey(byte[] masterKey, byte[] salt) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(masterKey, "HmacSHA256"));
+        mac.update(salt);
+        mac.update(KEY_INFO);
+        return Arrays.copyOf(mac.doFinal(), masterKey.length);
+    }
+}
@@ -0,0 +1,102 @@
+package com.cqcloud.platform.stream;
+
+import com.cqcloud.platform.enums.AlgorithmType;
+import com.cqcloud.platform.exception.DecryptException;
+
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+
+/**
+ * 流式加密头部
+ * 格式: [版本:1][算法:1][分段大小:4][盐:16][nonce前缀:7]，整个头部作为每个分段的附加认证数据
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+final class StreamHeader {
+
+    static final byte VERSION = 1;
+    static final int SALT_LENGTH = 16;
+    static final int NONCE_PREFIX_LENGTH = 7;
+    static final int LENGTH = 1 + 1 + 4 + SALT_LENGTH + NONCE_PREFIX_LENGTH;
+
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    final AlgorithmType algorithm;
+    final int segmentSize;
+    final byte[] salt;
+    final byte[] noncePrefix;
+    final byte[] encoded;
+
+    private StreamHeader(AlgorithmType algorithm, int segmentSize, byte[] salt, byte[] noncePrefix, byte[] encoded) {
+        this.algorithm = algorithm;
+        this.segmentSize = segmentSize;
+        this.salt = salt;
+        this.noncePrefix = noncePrefix;
+        this.encoded = encoded;
+    }
+
+    /**
+     * 生成新的头部（随机盐与nonce前缀）
+     */
+    static StreamHeader generate(AlgorithmType algorithm, int segmentSize) {
+        byte[] salt = new byte[SALT_LENGTH];
+        byte[] noncePrefix = new byte[NONCE_PREFIX_LENGTH];
+        SECURE_RANDOM.nextBytes(salt);
+        SECURE_RANDOM.nextBytes(noncePrefix);
+
+        ByteBuffer buffer = ByteBuffer.allocate(LENGTH);
+        buffer.put(VERSION);
+        buffer.put(algorithmCode(algorithm));
+        buffer.putInt(segmentSize);
+        buffer.put(salt);
+        buffer.put(noncePrefix);
+        return new StreamHeader(algorithm, segmentSize, salt, noncePrefix, buffer.array());
+    }
+
+    /**
+     * 解析头部
+     */
+    static StreamHeader parse(byte[] encoded) {
+        if (encoded.length != LENGTH) {
+            throw new DecryptException("流式密文头部长度错误: " + encoded.length);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(encoded);
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new DecryptException("不支持的流式密文版本: " + version);
+        }
+        AlgorithmType algorithm = algorithmOf(buffer.get());
+        int segmentSize = buffer.getInt();
+        // 头部尚未经过认证，先限制分段大小再按其分配缓冲区
+        if (segmentSize <= 0 || segmentSize > StreamingAead.MAX_SEGMENT_SIZE) {
+            throw new DecryptException("流式密文分段大小错误: " + segmentSize);
+        }
+        byte[] salt = new byte[SALT_LENGTH];
+        byte[] noncePrefix = new byte[NONCE_PREFIX_LENGTH];
+        buffer.get(salt);
+        buffer.get(noncePrefix);
+        return new StreamHeader(algorithm, segmentSize, salt, noncePrefix, encoded.clone());
+    }
+
+    private static byte algorithmCode(AlgorithmType algorithm) {
+        switch (algorithm) {
+            case AES_GCM:
+                return 1;
+            case SM4_GCM:
+                return 2;
+            default:
+                throw new IllegalArgumentException("流式加密仅支持认证加密算法: " + algorithm);
+        }
+    }
+
+    private static AlgorithmType algorithmOf(byte code) {
+        switch (code) {
+            case 1:
+                return AlgorithmType.AES_GCM;
+            case 2:
+                return AlgorithmType.SM4_GCM;
+            default:
+                throw new DecryptException("未知的流式加密算法: " + code);
+        }
+    }
+}
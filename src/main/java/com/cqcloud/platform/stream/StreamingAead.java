@@ -0,0 +1,96 @@
+package com.cqcloud.platform.stream;
+
+import com.cqcloud.platform.enums.AlgorithmType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 分段认证加密（STREAM构造）
+ * 用于BLOB、本地文件等大对象的加解密，内存占用只与分段大小有关；
+ * 密文格式: [头部][分段0]...[分段n]，每个分段为 明文分段 + 16字节认证标签
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+public class StreamingAead {
+
+    /**
+     * 默认分段大小（64KB）
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024;
+
+    /**
+     * 最大分段大小（16MB），解密时头部中超过该值的分段大小视为非法
+     */
+    public static final int MAX_SEGMENT_SIZE = 16 * 1024 * 1024;
+
+    private final AlgorithmType algorithm;
+    private final byte[] key;
+    private final int segmentSize;
+
+    public StreamingAead(AlgorithmType algorithm, byte[] key, int segmentSize) {
+        if (!algorithm.isAuthenticated()) {
+            throw new IllegalArgumentException("流式加密仅支持认证加密算法: " + algorithm);
+        }
+        if (segmentSize <= 0 || segmentSize > MAX_SEGMENT_SIZE) {
+            throw new IllegalArgumentException("分段大小必须在1到" + MAX_SEGMENT_SIZE + "之间: " + segmentSize);
+        }
+        this.algorithm = algorithm;
+        this.key = key.clone();
+        this.segmentSize = segmentSize;
+    }
+
+    public StreamingAead(AlgorithmType algorithm, byte[] key) {
+        this(algorithm, key, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * 创建加密输出流，关闭时写入末段
+     */
+    public OutputStream newEncryptingStream(OutputStream out) {
+        return new EncryptingOutputStream(out, StreamHeader.generate(algorithm, segmentSize), key);
+    }
+
+    /**
+     * 创建解密输入流，算法与分段大小从头部读取
+     */
+    public InputStream newDecryptingStream(InputStream in) {
+        return new DecryptingInputStream(in, key);
+    }
+
+    /**
+     * 创建支持随机访问的解密通道
+     */
+    public SeekableByteChannel newSeekableDecryptingChannel(SeekableByteChannel channel) throws IOException {
+        return new SeekableDecryptingChannel(channel, key);
+    }
+
+    /**
+     * 加密文件
+     */
+    public void encryptFile(Path source, Path target) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             OutputStream out = newEncryptingStream(Channels.newOutputStream(FileChannel.open(target,
+                     StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)))) {
+            Channels.newInputStream(in).transferTo(out);
+        }
+    }
+
+    /**
+     * 解密文件
+     */
+    public void decryptFile(Path source, Path target) throws IOException {
+        try (InputStream in = newDecryptingStream(Channels.newInputStream(FileChannel.open(source,
+                StandardOpenOption.READ)));
+             FileChannel out = FileChannel.open(target,
+                     StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            in.transferTo(Channels.newOutputStream(out));
+        }
+    }
+}
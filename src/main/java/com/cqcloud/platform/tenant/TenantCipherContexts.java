@@ -0,0 +1,110 @@
+package com.cqcloud.platform.tenant;
+
+import com.cqcloud.platform.enums.AlgorithmType;
+import com.cqcloud.platform.exception.EncryptException;
+import com.cqcloud.platform.strategy.CipherContext;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+/**
+ * 租户加密上下文缓存
+ * 按 租户 + 密钥ID + 算法 缓存初始化好的 {@link CipherContext}，按 租户 + 密钥ID 缓存解析出的密钥，容量有上限，
+ * 长时间未访问的租户被淘汰，大量租户时内存保持有界；同一租户的并发首次访问只解析一次密钥
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+@Slf4j
+public class TenantCipherContexts {
+
+    private final TenantKeyResolver keyResolver;
+    private final BiFunction<byte[], AlgorithmType, CipherContext> contextFactory;
+    private final Cache<String, CipherContext> contexts;
+    private final Cache<String, byte[]> keys;
+
+    /**
+     * @param keyResolver 租户密钥解析器
+     * @param contextFactory 由密钥与算法创建加密上下文
+     * @param maxSize 最多缓存的上下文数量
+     * @param idleSeconds 上下文未被访问多久后淘汰（秒）
+     */
+    public TenantCipherContexts(TenantKeyResolver keyResolver,
+                                BiFunction<byte[], AlgorithmType, CipherContext> contextFactory,
+                                long maxSize, long idleSeconds) {
+        this.keyResolver = keyResolver;
+        this.contextFactory = contextFactory;
+        this.contexts = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(idleSeconds, TimeUnit.SECONDS)
+                .build();
+        this.keys = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(idleSeconds, TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * 获取租户的加密上下文，首次访问时解析密钥并初始化
+     */
+    public CipherContext get(String tenantId, String keyId, AlgorithmType algorithm) {
+        try {
+            return contexts.get(tenantId + '\u0000' + keyId + ':' + algorithm.name(),
+                    () -> create(tenantId, keyId, algorithm));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof EncryptException) {
+                throw (EncryptException) e.getCause();
+            }
+            throw new EncryptException("初始化租户加密上下文失败: tenant=" + tenantId + ", keyId=" + keyId, e.getCause());
+        }
+    }
+
+    /**
+     * 获取租户的密钥（如流式加密使用），首次访问时解析
+     */
+    public byte[] getKey(String tenantId, String keyId) {
+        try {
+            return keys.get(tenantId + '\u0000' + keyId, () -> resolve(tenantId, keyId));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof EncryptException) {
+                throw (EncryptException) e.getCause();
+            }
+            throw new EncryptException("解析租户密钥失败: tenant=" + tenantId + ", keyId=" + keyId, e.getCause());
+        }
+    }
+
+    /**
+     * 淘汰租户的全部上下文与密钥，租户密钥轮换后调用
+     */
+    public void evict(String tenantId) {
+        String prefix = tenantId + '\u0000';
+        contexts.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+        keys.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+        log.info("淘汰租户加密上下文: tenant={}", tenantId);
+    }
+
+    public void evictAll() {
+        contexts.invalidateAll();
+        keys.invalidateAll();
+    }
+
+    public long size() {
+        return contexts.size();
+    }
+
+    private CipherContext create(String tenantId, String keyId, AlgorithmType algorithm) {
+        return contextFactory.apply(getKey(tenantId, keyId), algorithm);
+    }
+
+    private byte[] resolve(String tenantId, String keyId) {
+        byte[] key = keyResolver.resolveKey(tenantId, keyId);
+        if (key == null) {
+            throw new EncryptException("未找到租户密钥: tenant=" + tenantId + ", keyId=" + keyId);
+        }
+        return key;
+    }
+}
@@ -0,0 +1,87 @@
+package com.cqcloud.platform.tenant;
+
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * 租户上下文
+ * 保存当前线程的租户ID，设置后加密管理器通过 {@link TenantKeyResolver} 使用该租户的数据密钥；
+ * 通常在请求过滤器或消息监听器入口设置，并在 finally 中清除。提交到其他线程的任务用 {@link #wrap(Callable)} 携带提交线程的租户，
+ * 响应式链路通过 Reactor Context 中的 {@link #CONTEXT_KEY} 传递（未设置时使用组装链路的线程上的租户）
+ * <pre>
+ * TenantContextHolder.setTenantId(tenantId);
+ * try {
+ *     userMapper.insert(user);
+ * } finally {
+ *     TenantContextHolder.clear();
+ * }
+ * </pre>
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+public final class TenantContextHolder {
+
+    /**
+     * Reactor Context 中租户ID的键，如 {@code mono.contextWrite(Context.of(TenantContextHolder.CONTEXT_KEY, tenantId))}
+     */
+    public static final String CONTEXT_KEY = TenantContextHolder.class.getName() + ".TENANT_ID";
+
+    private static final ThreadLocal<String> TENANT_ID = new ThreadLocal<>();
+
+    private TenantContextHolder() {
+    }
+
+    public static void setTenantId(String tenantId) {
+        if (tenantId == null) {
+            TENANT_ID.remove();
+        } else {
+            TENANT_ID.set(tenantId);
+        }
+    }
+
+    /**
+     * 当前租户ID，未设置时返回null
+     */
+    public static String getTenantId() {
+        return TENANT_ID.get();
+    }
+
+    public static void clear() {
+        TENANT_ID.remove();
+    }
+
+    /**
+     * 以指定租户执行，结束后恢复当前线程原来的租户
+     */
+    public static <T> T callWithTenant(String tenantId, Supplier<T> action) {
+        String previous = TENANT_ID.get();
+        setTenantId(tenantId);
+        try {
+            return action.get();
+        } finally {
+            setTenantId(previous);
+        }
+    }
+
+    /**
+     * 包装任务，使其在执行线程上使用提交线程的当前租户
+     */
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        return wrap(TENANT_ID.get(), task);
+    }
+
+    /**
+     * 包装任务，使其在执行线程上使用指定租户，结束后恢复执行线程原来的租户
+     */
+    public static <T> Callable<T> wrap(String tenantId, Callable<T> task) {
+        return () -> {
+            String previous = TENANT_ID.get();
+            setTenantId(tenantId);
+            try {
+                return task.call();
+            } finally {
+                setTenantId(previous);
+            }
+        };
+    }
+}
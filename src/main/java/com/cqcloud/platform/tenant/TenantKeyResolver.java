@@ -0,0 +1,20 @@
+package com.cqcloud.platform.tenant;
+
+/**
+ * 租户密钥解析器
+ * 按租户与 {@code @Encrypted.keyId} 返回租户的数据密钥（如从KMS解密的数据密钥），由应用注册为Bean；
+ * 解析结果连同初始化好的加密上下文按租户缓存，只在租户首次访问或被淘汰后再次访问时调用
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+@FunctionalInterface
+public interface TenantKeyResolver {
+
+    /**
+     * 解析租户密钥
+     * @param tenantId 租户ID
+     * @param keyId 字段使用的密钥ID
+     * @return 密钥，长度须符合算法要求；返回null表示该租户没有此密钥，加解密失败而不会回退到共享密钥
+     */
+    byte[] resolveKey(String tenantId, String keyId);
+}
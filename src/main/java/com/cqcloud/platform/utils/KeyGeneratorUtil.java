@@ -1,12 +1,11 @@
 package com.cqcloud.platform.utils;
 
+import com.cqcloud.platform.strategy.CipherProviders;
 import lombok.extern.slf4j.Slf4j;
-import org.bouncycastle.jce.provider.BouncyCastleProvider;
 
 import javax.crypto.KeyGenerator;
 import javax.crypto.SecretKey;
 import java.security.NoSuchAlgorithmException;
-import java.security.Security;
 import java.util.Base64;
 
 /**
@@ -18,7 +17,7 @@ import java.util.Base64;
 public class KeyGeneratorUtil {
 
     static {
-        Security.addProvider(new BouncyCastleProvider());
+        CipherProviders.ensureBouncyCastle();
     }
 
     /**
@@ -41,7 +40,7 @@ public class KeyGeneratorUtil {
      */
     public static String generateSm4Key() {
         try {
-            KeyGenerator keyGenerator = KeyGenerator.getInstance("SM4", "BC");
+            KeyGenerator keyGenerator = KeyGenerator.getInstance("SM4", CipherProviders.BOUNCY_CASTLE);
             keyGenerator.init(128);
             SecretKey secretKey = keyGenerator.generateKey();
             return Base64.getEncoder().encodeToString(secretKey.getEncoded());
@@ -0,0 +1,111 @@
+package com.cqcloud.platform.warmup;
+
+import com.cqcloud.platform.config.EncryptionProperties;
+import com.cqcloud.platform.enums.AlgorithmType;
+import com.cqcloud.platform.manager.EncryptionManager;
+import com.cqcloud.platform.strategy.CipherContext;
+import com.cqcloud.platform.strategy.CipherProviders;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 加密启动预热
+ * 在应用启动完成、对外报告就绪之前，为每个已配置的密钥与算法创建加密上下文并执行若干轮加解密，
+ * 使Provider注册、上下文构建与Cipher的JIT编译都发生在启动阶段，而不是滚动发布后的第一批请求上；
+ * 监听器同步执行，Spring Boot在 {@link ApplicationStartedEvent} 的监听器全部返回后才发布就绪状态；
+ * 启用租户密钥隔离且不允许回退到共享密钥时，启动阶段没有租户可用，跳过预热
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+@Slf4j
+public class EncryptionWarmup implements ApplicationListener<ApplicationStartedEvent> {
+
+    private static final String SAMPLE = "13800138000";
+    private static final int BATCH_SIZE = 32;
+    private static final int BATCH_INTERVAL = 64;
+
+    private final EncryptionManager encryptionManager;
+    private final EncryptionProperties properties;
+    private final boolean tenantIsolated;
+
+    public EncryptionWarmup(EncryptionManager encryptionManager, EncryptionProperties properties) {
+        this(encryptionManager, properties, false);
+    }
+
+    /**
+     * @param tenantIsolated 是否启用了租户密钥隔离且不允许回退到共享密钥
+     */
+    public EncryptionWarmup(EncryptionManager encryptionManager, EncryptionProperties properties,
+                            boolean tenantIsolated) {
+        this.encryptionManager = encryptionManager;
+        this.properties = properties;
+        this.tenantIsolated = tenantIsolated;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationStartedEvent event) {
+        if (tenantIsolated) {
+            log.info("已启用租户密钥隔离且不允许回退到共享密钥，跳过加密预热");
+            return;
+        }
+        long start = System.nanoTime();
+        CipherProviders.ensureBouncyCastle();
+
+        int warmed = 0;
+        for (String target : targets()) {
+            int separator = target.lastIndexOf(':');
+            String keyId = target.substring(0, separator);
+            AlgorithmType algorithm = AlgorithmType.valueOf(target.substring(separator + 1));
+            try {
+                warmUp(encryptionManager.getCipherContext(keyId, algorithm), properties.getWarmupIterations());
+                warmed++;
+            } catch (RuntimeException e) {
+                log.warn("加密预热失败: keyId={}, algorithm={}, {}", keyId, algorithm, e.getMessage());
+            }
+        }
+        log.info("加密预热完成: 密钥/算法组合数={}, 每组迭代次数={}, 耗时{}ms",
+                warmed, properties.getWarmupIterations(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * 需要预热的 密钥ID:算法 组合：默认密钥与每个已配置的密钥，分别使用默认算法与密钥自身声明的算法
+     */
+    private Set<String> targets() {
+        AlgorithmType defaultAlgorithm = properties.getDefaultAlgorithm();
+        Set<String> targets = new LinkedHashSet<>();
+        targets.add(encryptionManager.getDefaultKeyId() + ":" + defaultAlgorithm.name());
+        if (properties.getKeys() != null) {
+            for (EncryptionProperties.KeyConfig keyConfig : properties.getKeys()) {
+                if (StringUtils.hasText(keyConfig.getValue())) {
+                    targets.add(keyConfig.getId() + ":" + defaultAlgorithm.name());
+                    targets.add(keyConfig.getId() + ":" + keyConfig.getAlgorithm().name());
+                }
+            }
+        }
+        return targets;
+    }
+
+    /**
+     * 单值加解密与批量加密交替执行，覆盖运行时的两条加密路径
+     */
+    private static void warmUp(CipherContext context, int iterations) {
+        List<String> batch = new ArrayList<>(Collections.nCopies(BATCH_SIZE, SAMPLE));
+        for (int i = 0; i < iterations; i++) {
+            String ciphertext = context.encrypt(SAMPLE);
+            if (!SAMPLE.equals(context.decrypt(ciphertext))) {
+                throw new IllegalStateException("预热解密结果与明文不一致");
+            }
+            if (i % BATCH_INTERVAL == 0) {
+                context.encryptAll(batch);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.cqcloud.platform.warmup;
+
+import com.cqcloud.platform.interceptor.MybatisPlusInterceptorWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationListener;
+
+import java.util.List;
+
+/**
+ * MyBatis-Plus加密元数据预热
+ * 启动完成后（此时所有Mapper与实体表信息均已加载）扫描 TableInfoHelper 中的实体与已解析的语句，
+ * 预先构建实体加密字段、参数路径与语句加解密计划，首个请求不再承担反射解析的开销
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+@Slf4j
+public class MybatisPlusWarmup implements ApplicationListener<ApplicationStartedEvent> {
+
+    private final MybatisPlusInterceptorWrapper interceptor;
+    private final List<SqlSessionFactory> sqlSessionFactories;
+
+    public MybatisPlusWarmup(MybatisPlusInterceptorWrapper interceptor, List<SqlSessionFactory> sqlSessionFactories) {
+        this.interceptor = interceptor;
+        this.sqlSessionFactories = sqlSessionFactories;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationStartedEvent event) {
+        long start = System.nanoTime();
+        int entities = interceptor.prepareEntities();
+        int statements = 0;
+        for (SqlSessionFactory sqlSessionFactory : sqlSessionFactories) {
+            try {
+                statements += interceptor.prepareStatements(sqlSessionFactory.getConfiguration());
+            } catch (RuntimeException e) {
+                log.warn("预编译加解密计划失败: {}, {}", sqlSessionFactory.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+        log.info("MyBatis-Plus加密元数据预热完成: 实体数={}, 语句数={}, 耗时{}ms",
+                entities, statements, (System.nanoTime() - start) / 1_000_000);
+    }
+}
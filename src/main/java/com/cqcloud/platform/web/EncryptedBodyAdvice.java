@@ -0,0 +1,76 @@
+package com.cqcloud.platform.web;
+
+import com.cqcloud.platform.annotation.EncryptedBody;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+
+/**
+ * 请求/响应体字段加密通知
+ * 对标注了 {@link EncryptedBody} 的接口，在Jackson读取请求体与写出响应体之前标记当前请求，
+ * 由 {@link EncryptedJsonModule} 在流式序列化时完成字段加解密；通知本身不读取、不替换消息体
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+@ControllerAdvice
+public class EncryptedBodyAdvice implements RequestBodyAdvice, ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return isJackson(converterType) && isEncryptedBody(methodParameter);
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) {
+        EncryptedJsonModule.activate();
+        return inputMessage;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        return body;
+    }
+
+    @Override
+    public Object handleEmptyBody(Object body, HttpInputMessage inputMessage, MethodParameter parameter,
+                                  Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return body;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return isJackson(converterType) && isEncryptedBody(returnType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        EncryptedJsonModule.activate();
+        return body;
+    }
+
+    private static boolean isJackson(Class<?> converterType) {
+        return AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    private static boolean isEncryptedBody(MethodParameter parameter) {
+        Method method = parameter.getMethod();
+        return (method != null && AnnotatedElementUtils.hasAnnotation(method, EncryptedBody.class))
+                || AnnotatedElementUtils.hasAnnotation(parameter.getContainingClass(), EncryptedBody.class);
+    }
+}
@@ -0,0 +1,167 @@
+package com.cqcloud.platform.web;
+
+import com.cqcloud.platform.annotation.Encrypted;
+import com.cqcloud.platform.enums.AlgorithmType;
+import com.cqcloud.platform.manager.EncryptionManager;
+import com.cqcloud.platform.strategy.CipherContext;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMethod;
+import com.fasterxml.jackson.databind.introspect.NopAnnotationIntrospector;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.io.IOException;
+
+/**
+ * JSON字段加密模块
+ * 为带有 {@link Encrypted} 注解的字符串属性绑定加解密序列化器，在Jackson流式读写时直接加解密字段值，
+ * 不构建中间JSON树、也不在序列化前后反射遍历DTO；只有当前请求被 {@link EncryptedBodyAdvice} 标记时才生效，
+ * 其他接口与非Web场景下序列化结果保持明文
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+public class EncryptedJsonModule extends SimpleModule {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 请求属性：当前请求的JSON需要字段加解密
+     */
+    static final String ACTIVE_ATTRIBUTE = EncryptedJsonModule.class.getName() + ".ACTIVE";
+
+    private final transient EncryptionManager encryptionManager;
+
+    public EncryptedJsonModule(EncryptionManager encryptionManager) {
+        super("EncryptedJsonModule");
+        this.encryptionManager = encryptionManager;
+    }
+
+    @Override
+    public void setupModule(SetupContext context) {
+        super.setupModule(context);
+        context.insertAnnotationIntrospector(new EncryptedIntrospector(encryptionManager));
+    }
+
+    /**
+     * 标记当前请求需要字段加解密
+     */
+    static void activate() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(ACTIVE_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private static boolean isActive() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null && attributes.getAttribute(ACTIVE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+
+    /**
+     * 按 {@link Encrypted} 注解为字符串属性提供加解密序列化器
+     */
+    private static class EncryptedIntrospector extends NopAnnotationIntrospector {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient EncryptionManager encryptionManager;
+
+        private EncryptedIntrospector(EncryptionManager encryptionManager) {
+            this.encryptionManager = encryptionManager;
+        }
+
+        @Override
+        public Object findSerializer(Annotated annotated) {
+            Encrypted encrypted = annotated.getAnnotation(Encrypted.class);
+            if (encrypted == null || annotated.getRawType() != String.class) {
+                return null;
+            }
+            return new EncryptingSerializer(new FieldCipher(encryptionManager, encrypted));
+        }
+
+        @Override
+        public Object findDeserializer(Annotated annotated) {
+            Encrypted encrypted = annotated.getAnnotation(Encrypted.class);
+            if (encrypted == null || valueType(annotated) != String.class) {
+                return null;
+            }
+            return new DecryptingDeserializer(new FieldCipher(encryptionManager, encrypted));
+        }
+
+        private static Class<?> valueType(Annotated annotated) {
+            if (annotated instanceof AnnotatedMethod && ((AnnotatedMethod) annotated).getParameterCount() == 1) {
+                return ((AnnotatedMethod) annotated).getRawParameterType(0);
+            }
+            return annotated.getRawType();
+        }
+    }
+
+    /**
+     * 属性绑定的密钥与算法，上下文由加密管理器缓存，密钥轮换后自动使用新的上下文
+     */
+    private static class FieldCipher {
+
+        private final EncryptionManager encryptionManager;
+        private final String keyId;
+        private final AlgorithmType algorithm;
+
+        private FieldCipher(EncryptionManager encryptionManager, Encrypted encrypted) {
+            this.encryptionManager = encryptionManager;
+            this.keyId = encrypted.keyId();
+            this.algorithm = encrypted.algorithm();
+        }
+
+        private CipherContext context() {
+            return encryptionManager.getCipherContext(keyId, algorithm);
+        }
+    }
+
+    private static class EncryptingSerializer extends StdScalarSerializer<String> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient FieldCipher cipher;
+
+        private EncryptingSerializer(FieldCipher cipher) {
+            super(String.class);
+            this.cipher = cipher;
+        }
+
+        @Override
+        public void serialize(String value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeString(isActive() && !value.isEmpty() ? cipher.context().encrypt(value) : value);
+        }
+    }
+
+    private static class DecryptingDeserializer extends StdScalarDeserializer<String> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient FieldCipher cipher;
+
+        private DecryptingDeserializer(FieldCipher cipher) {
+            super(String.class);
+            this.cipher = cipher;
+        }
+
+        @Override
+        public String deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            String value = p.getValueAsString();
+            if (value == null) {
+                return (String) ctxt.handleUnexpectedToken(String.class, p);
+            }
+            if (!isActive()) {
+                return value;
+            }
+            CipherContext context = cipher.context();
+            return context.isEncrypted(value) ? context.decrypt(value) : value;
+        }
+    }
+}
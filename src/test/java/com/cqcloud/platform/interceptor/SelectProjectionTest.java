@@ -0,0 +1,72 @@
+package com.cqcloud.platform.interceptor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 查询投影解析测试
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+class SelectProjectionTest {
+
+    @Test
+    void parsesAliasesAndQualifiedColumns() {
+        assertEquals(List.of("id", "p", "name", "c", "m"), SelectProjection.parseSelectList(
+                "SELECT id, phone AS p, u.name, count(*) AS c, max(u.age) m FROM users u WHERE id = ?"));
+    }
+
+    @Test
+    void ignoresCommasInsideQuotesAndParentheses() {
+        assertEquals(List.of("s", "x"), SelectProjection.parseSelectList(
+                "SELECT 'a,b' AS s, concat(a, ',', b) x FROM t"));
+    }
+
+    @Test
+    void stripsDistinct() {
+        assertEquals(List.of("phone"), SelectProjection.parseSelectList("select distinct phone from t"));
+    }
+
+    @Test
+    void skipsLeadingComments() {
+        assertEquals(List.of("a"), SelectProjection.parseSelectList("/* list users */ SELECT a FROM t"));
+        assertEquals(List.of("a"), SelectProjection.parseSelectList("-- list users\n  SELECT a FROM t"));
+    }
+
+    @Test
+    void unknownForWildcards() {
+        assertNull(SelectProjection.parseSelectList("SELECT * FROM t"));
+        assertNull(SelectProjection.parseSelectList("SELECT id, u.* FROM users u"));
+    }
+
+    @Test
+    void unknownForStatementsNotStartingWithSelect() {
+        assertNull(SelectProjection.parseSelectList("WITH x AS (SELECT a FROM t) SELECT a FROM x"));
+        assertNull(SelectProjection.parseSelectList("(SELECT a FROM t) UNION (SELECT b FROM s)"));
+        assertNull(SelectProjection.parseSelectList("INSERT INTO t SELECT a FROM s"));
+        assertNull(SelectProjection.parseSelectList("selected_at FROM t"));
+    }
+
+    @Test
+    void unknownForHintsAndCommentsInTheSelectList() {
+        assertNull(SelectProjection.parseSelectList("/*+ INDEX(t idx) */ SELECT a FROM t"));
+        assertNull(SelectProjection.parseSelectList("SELECT /*+ MAX_EXECUTION_TIME(1) */ a FROM t"));
+        assertNull(SelectProjection.parseSelectList("SELECT a, -- phone, \n b FROM t"));
+        assertNull(SelectProjection.parseSelectList("/* unclosed SELECT a FROM t"));
+    }
+
+    @Test
+    void unknownWithoutFrom() {
+        assertNull(SelectProjection.parseSelectList("SELECT 1"));
+    }
+
+    @Test
+    void normalizesUnderscoresQuotesAndCase() {
+        assertEquals("idcard", SelectProjection.normalize("`ID_CARD`"));
+        assertEquals("idcard", SelectProjection.normalize("idCard"));
+    }
+}
@@ -0,0 +1,192 @@
+package com.cqcloud.platform.jdbc;
+
+import com.cqcloud.platform.config.EncryptionProperties;
+import com.cqcloud.platform.manager.EncryptionManager;
+import com.cqcloud.platform.manager.impl.AesEncryptionManager;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 加密数据源代理测试
+ * 使用H2内存库（MySQL与PostgreSQL兼容模式）验证参数加密、结果解密与未映射写入的拒绝
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+class EncryptingDataSourceTest {
+
+    private static final String PHONE = "13800138000";
+
+    private DataSource raw;
+    private EncryptionManager encryptionManager;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        raw = database("MySQL");
+        EncryptionProperties properties = new EncryptionProperties();
+        properties.setDefaultKey(Base64.getEncoder().encodeToString(new byte[32]));
+        encryptionManager = new AesEncryptionManager(properties);
+    }
+
+    @Test
+    void encryptsParametersAndDecryptsResults() throws SQLException {
+        DataSource dataSource = wrap(false);
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO users (id, phone, name) VALUES (?, ?, ?)")) {
+                insert.setInt(1, 1);
+                insert.setString(2, PHONE);
+                insert.setString(3, "alice");
+                insert.executeUpdate();
+            }
+            try (PreparedStatement query = connection.prepareStatement("SELECT phone, name FROM users WHERE id = ?")) {
+                query.setInt(1, 1);
+                try (ResultSet resultSet = query.executeQuery()) {
+                    assertTrue(resultSet.next());
+                    assertEquals(PHONE, resultSet.getString("phone"));
+                    assertEquals(PHONE, resultSet.getString(1));
+                    assertEquals("alice", resultSet.getString("name"));
+                }
+            }
+        }
+        String stored = rawPhone(1);
+        assertNotEquals(PHONE, stored);
+        assertTrue(encryptionManager.isEncrypted(stored), stored);
+    }
+
+    @Test
+    void encryptsUpdateSetAndOnDuplicateKeyUpdate() throws SQLException {
+        DataSource dataSource = wrap(false);
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement upsert = connection.prepareStatement(
+                    "INSERT INTO users (id, phone) VALUES (?, ?) ON DUPLICATE KEY UPDATE phone = ?")) {
+                upsert.setInt(1, 2);
+                upsert.setString(2, "first");
+                upsert.setString(3, "unused");
+                upsert.executeUpdate();
+                upsert.setInt(1, 2);
+                upsert.setString(2, "unused");
+                upsert.setString(3, "second");
+                upsert.executeUpdate();
+            }
+            assertEquals("second", encryptionManager.decrypt(rawPhone(2), "default"));
+
+            try (PreparedStatement update = connection.prepareStatement("UPDATE users SET phone = ? WHERE id = ?")) {
+                update.setString(1, PHONE);
+                update.setInt(2, 2);
+                update.executeUpdate();
+            }
+        }
+        assertEquals(PHONE, encryptionManager.decrypt(rawPhone(2), "default"));
+    }
+
+    @Test
+    void encryptsOnConflictDoNothingAndRejectsExpressions() throws SQLException {
+        raw = database("PostgreSQL");
+        DataSource dataSource = wrap(false);
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO users (id, phone) VALUES (?, ?) ON CONFLICT DO NOTHING")) {
+                insert.setInt(1, 5);
+                insert.setString(2, PHONE);
+                insert.executeUpdate();
+                insert.setInt(1, 5);
+                insert.setString(2, "ignored");
+                insert.executeUpdate();
+            }
+            assertThrows(SQLException.class, () -> connection.prepareStatement(
+                    "INSERT INTO users (id, phone) VALUES (?, ?) ON CONFLICT (id) DO UPDATE SET phone = concat(?, '')"));
+        }
+        assertEquals(PHONE, encryptionManager.decrypt(rawPhone(5), "default"));
+    }
+
+    @Test
+    void rejectsUnmappedPreparedWrites() throws SQLException {
+        DataSource dataSource = wrap(false);
+        try (Connection connection = dataSource.getConnection()) {
+            assertThrows(SQLException.class, () -> connection.prepareStatement("INSERT INTO users VALUES (?, ?, ?, ?)"));
+            assertThrows(SQLException.class,
+                    () -> connection.prepareStatement("UPDATE users SET phone = concat(?, '') WHERE id = ?"));
+        }
+    }
+
+    @Test
+    void rejectsUnmappedPlainStatementWrites() throws SQLException {
+        DataSource dataSource = wrap(false);
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            assertThrows(SQLException.class,
+                    () -> statement.executeUpdate("INSERT INTO users (id, phone) VALUES (3, '" + PHONE + "')"));
+            assertThrows(SQLException.class,
+                    () -> statement.addBatch("UPDATE users SET phone = '" + PHONE + "' WHERE id = 3"));
+            statement.executeUpdate("INSERT INTO users (id, name) VALUES (3, 'plain')");
+        }
+        assertNull(rawPhone(3));
+    }
+
+    @Test
+    void warnOnlyLetsUnmappedWritesThrough() throws SQLException {
+        DataSource dataSource = wrap(true);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement insert = connection.prepareStatement("INSERT INTO users VALUES (?, ?, ?, ?)")) {
+            insert.setInt(1, 4);
+            insert.setString(2, PHONE);
+            insert.setString(3, null);
+            insert.setString(4, "bob");
+            insert.executeUpdate();
+        }
+        assertEquals(PHONE, rawPhone(4));
+    }
+
+    @Test
+    void leavesStatementsWithoutEncryptedColumnsUnwrapped() throws SQLException {
+        DataSource dataSource = wrap(false);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT name FROM users WHERE id = ?")) {
+            assertFalse(Proxy.isProxyClass(statement.getClass()));
+        }
+        assertSame(dataSource, EncryptingDataSource.wrap(dataSource, SqlColumnsTest.rules(false), encryptionManager));
+    }
+
+    private static DataSource database(String mode) throws SQLException {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=" + mode + ";DB_CLOSE_DELAY=-1");
+        try (Connection connection = h2.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE users (id INT PRIMARY KEY, phone VARCHAR(255), id_card VARCHAR(255), "
+                    + "name VARCHAR(64))");
+        }
+        return h2;
+    }
+
+    private DataSource wrap(boolean warnOnly) {
+        return EncryptingDataSource.wrap(raw, SqlColumnsTest.rules(warnOnly), encryptionManager);
+    }
+
+    private String rawPhone(int id) throws SQLException {
+        try (Connection connection = raw.getConnection();
+             PreparedStatement query = connection.prepareStatement("SELECT phone FROM users WHERE id = ?")) {
+            query.setInt(1, id);
+            try (ResultSet resultSet = query.executeQuery()) {
+                assertTrue(resultSet.next());
+                return resultSet.getString(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.cqcloud.platform.jdbc;
+
+import com.cqcloud.platform.config.EncryptionProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SQL加密列解析测试
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+class SqlColumnsTest {
+
+    private final ColumnEncryptionRules rules = rules(false);
+
+    @Test
+    void mapsInsertParametersByColumnList() {
+        SqlColumns columns = rules.columns("INSERT INTO users (id, phone, name, id_card) VALUES (?, ?, ?, ?)");
+        assertNull(columns.unmapped());
+        assertParameters(columns, 2, 4);
+    }
+
+    @Test
+    void mapsMultiRowInsert() {
+        SqlColumns columns = rules.columns("INSERT INTO `users` (id, `phone`) VALUES (?, ?), (?, ?)");
+        assertParameters(columns, 2, 4);
+    }
+
+    @Test
+    void mapsOnDuplicateKeyUpdate() {
+        SqlColumns columns = rules.columns(
+                "INSERT INTO users (id, phone) VALUES (?, ?) ON DUPLICATE KEY UPDATE name = ?, phone = ?");
+        assertNull(columns.unmapped());
+        assertParameters(columns, 2, 4);
+    }
+
+    @Test
+    void mapsOnConflictDoUpdateSet() {
+        SqlColumns columns = rules.columns("INSERT INTO users (id, phone) VALUES (?, ?) "
+                + "ON CONFLICT (id) DO UPDATE SET phone = ?, name = ? WHERE users.id_card = ? RETURNING id");
+        assertNull(columns.unmapped());
+        assertParameters(columns, 2, 3);
+    }
+
+    @Test
+    void keepsValuesMappingForOnConflictWithColumnReferences() {
+        SqlColumns excluded = rules.columns("INSERT INTO users (id, phone) VALUES (?, ?) "
+                + "ON CONFLICT ON CONSTRAINT users_pkey DO UPDATE SET phone = EXCLUDED.phone");
+        assertNull(excluded.unmapped());
+        assertParameters(excluded, 2);
+
+        SqlColumns nothing = rules.columns("INSERT INTO users (id, phone) VALUES (?, ?) ON CONFLICT DO NOTHING");
+        assertNull(nothing.unmapped());
+        assertParameters(nothing, 2);
+    }
+
+    @Test
+    void mapsUpdateSetButNotWhere() {
+        SqlColumns columns = rules.columns("UPDATE users u SET phone = ?, name = ? WHERE phone = ? AND id = ?");
+        assertParameters(columns, 1);
+    }
+
+    @Test
+    void allowsNullAndDefaultForEncryptedColumns() {
+        assertNull(rules.columns("INSERT INTO users (id, phone) VALUES (?, NULL)").unmapped());
+        assertNull(rules.columns("UPDATE users SET phone = DEFAULT WHERE id = ?").unmapped());
+    }
+
+    @Test
+    void reportsUnmappedWrites() {
+        String[] statements = {
+                "INSERT INTO users VALUES (?, ?)",
+                "INSERT INTO users (id, phone) SELECT id, phone FROM staging",
+                "INSERT INTO users (id, phone) VALUES (?, concat(?, ''))",
+                "INSERT INTO users (id, phone) VALUES (?, '13800138000')",
+                "UPDATE users SET phone = trim(?) WHERE id = ?",
+                "UPDATE users SET phone = 13800138000 WHERE id = ?",
+                "INSERT INTO users (id, phone) VALUES (?, ?) ON CONFLICT (id) DO UPDATE SET phone = upper(?)",
+                "INSERT INTO users (id, phone) VALUES (?, ?) ON SOMETHING ELSE",
+                "MERGE INTO users u USING staging s ON u.id = s.id WHEN MATCHED THEN UPDATE SET phone = s.phone",
+                "INSERT INTO users (id, phone VALUES (?, ?)"
+        };
+        for (String sql : statements) {
+            assertNotNull(rules.columns(sql).unmapped(), sql);
+        }
+    }
+
+    @Test
+    void ignoresTablesWithoutEncryptedColumns() {
+        assertSame(SqlColumns.NONE, rules.columns("INSERT INTO orders VALUES (?, ?)"));
+        assertSame(SqlColumns.NONE, rules.columns("UPDATE orders SET note = concat(?, 'x')"));
+        assertSame(SqlColumns.NONE, rules.columns("INSERT INTO orders (id VALUES (?)"));
+        assertSame(SqlColumns.NONE, rules.columns("DELETE FROM users WHERE phone = ?"));
+    }
+
+    @Test
+    void warnOnlyTreatsUnmappedWritesAsPlain() {
+        assertSame(SqlColumns.NONE, rules(true).columns("INSERT INTO users VALUES (?, ?)"));
+    }
+
+    @Test
+    void mapsSelectLabels() {
+        SqlColumns columns = rules.columns(
+                "SELECT u.id, u.phone AS mobile, id_card, o.note FROM users u JOIN orders o ON o.user_id = u.id");
+        assertNotNull(columns.label("mobile"));
+        assertNotNull(columns.label("ID_CARD"));
+        assertNull(columns.label("phone"));
+        assertNull(columns.label("note"));
+        assertFalse(columns.hasParameters());
+    }
+
+    @Test
+    void mapsSelectWildcards() {
+        SqlColumns columns = rules.columns("SELECT o.*, u.* FROM orders o LEFT JOIN users u ON o.user_id = u.id");
+        assertNotNull(columns.label("phone"));
+        assertNotNull(columns.label("id_card"));
+    }
+
+    private static void assertParameters(SqlColumns columns, int... encrypted) {
+        assertTrue(columns.hasParameters());
+        for (int index = 1; index <= 8; index++) {
+            boolean expected = false;
+            for (int value : encrypted) {
+                expected |= value == index;
+            }
+            if (expected) {
+                assertNotNull(columns.parameter(index), "parameter " + index);
+            } else {
+                assertNull(columns.parameter(index), "parameter " + index);
+            }
+        }
+    }
+
+    static ColumnEncryptionRules rules(boolean warnOnly) {
+        return new ColumnEncryptionRules(List.of(column("users", "phone"), column("users", "id_card")), 100, warnOnly);
+    }
+
+    private static EncryptionProperties.ColumnConfig column(String table, String column) {
+        EncryptionProperties.ColumnConfig config = new EncryptionProperties.ColumnConfig();
+        config.setTable(table);
+        config.setColumn(column);
+        return config;
+    }
+}
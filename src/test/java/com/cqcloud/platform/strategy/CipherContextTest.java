@@ -0,0 +1,76 @@
+package com.cqcloud.platform.strategy;
+
+import com.cqcloud.platform.enums.AlgorithmType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 加密上下文批量加密测试
+ * 批量加密使用手写的Base64编码与复用缓冲区，结果须与 {@link Base64} 的标准编码一致并能被单值解密
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+class CipherContextTest {
+
+    @Test
+    void batchBase64MatchesJdkEncoderForEveryPaddingLength() {
+        for (AlgorithmType algorithm : AlgorithmType.values()) {
+            CipherContext context = new CipherContext(algorithm, key(algorithm));
+            List<String> plaintexts = new ArrayList<>();
+            for (int length = 1; length <= 70; length++) {
+                plaintexts.add("a".repeat(length));
+            }
+            List<String> ciphertexts = context.encryptAll(plaintexts);
+            for (int i = 0; i < plaintexts.size(); i++) {
+                String ciphertext = ciphertexts.get(i);
+                assertTrue(ciphertext.startsWith(algorithm.getFlag()), ciphertext);
+                String encoded = ciphertext.substring(algorithm.getFlag().length());
+                byte[] decoded = Base64.getDecoder().decode(encoded);
+                assertEquals(Base64.getEncoder().encodeToString(decoded), encoded, algorithm + " length=" + (i + 1));
+                assertEquals(plaintexts.get(i), context.decrypt(ciphertext));
+            }
+        }
+    }
+
+    @Test
+    void batchHandlesNonAsciiAndBufferGrowth() {
+        CipherContext context = new CipherContext(AlgorithmType.SM4_GCM, key(AlgorithmType.SM4_GCM));
+        List<String> plaintexts = Arrays.asList("手机号13800138000", "x".repeat(5000), "短", "身份证".repeat(400), "ascii");
+        List<String> ciphertexts = context.encryptAll(plaintexts);
+        for (int i = 0; i < plaintexts.size(); i++) {
+            assertEquals(plaintexts.get(i), context.decrypt(ciphertexts.get(i)));
+        }
+    }
+
+    @Test
+    void batchPassesThroughEmptyAndEncryptedValues() {
+        CipherContext context = new CipherContext(AlgorithmType.AES_GCM, key(AlgorithmType.AES_GCM));
+        String encrypted = context.encrypt("done");
+        List<String> ciphertexts = context.encryptAll(Arrays.asList(null, "", encrypted));
+        assertNull(ciphertexts.get(0));
+        assertEquals("", ciphertexts.get(1));
+        assertSame(encrypted, ciphertexts.get(2));
+    }
+
+    @Test
+    void batchAndSingleCiphertextsHaveTheSameLength() {
+        for (AlgorithmType algorithm : AlgorithmType.values()) {
+            CipherContext context = new CipherContext(algorithm, key(algorithm));
+            String plaintext = "13800138000";
+            assertEquals(context.encrypt(plaintext).length(), context.encryptAll(List.of(plaintext)).get(0).length());
+        }
+    }
+
+    private static byte[] key(AlgorithmType algorithm) {
+        return new byte[algorithm.name().startsWith("SM4") ? 16 : 32];
+    }
+}
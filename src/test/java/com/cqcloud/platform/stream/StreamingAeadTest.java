@@ -0,0 +1,143 @@
+package com.cqcloud.platform.stream;
+
+import com.cqcloud.platform.enums.AlgorithmType;
+import com.cqcloud.platform.exception.DecryptException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 分段认证加密测试
+ * 覆盖分段边界（空流、整数倍分段）、截断与分段重排
+ * @author weimeilayer@gmail.com ✨
+ * @date 💓💕 2025-12-01 16:18:08 🐬🐇 💓💕
+ */
+class StreamingAeadTest {
+
+    private static final int SEGMENT_SIZE = 64;
+    private static final int CIPHERTEXT_SEGMENT_SIZE = SEGMENT_SIZE + SegmentCipher.TAG_LENGTH;
+
+    private final StreamingAead aes = new StreamingAead(AlgorithmType.AES_GCM, new byte[32], SEGMENT_SIZE);
+    private final StreamingAead sm4 = new StreamingAead(AlgorithmType.SM4_GCM, new byte[16], SEGMENT_SIZE);
+
+    @Test
+    void roundTripAcrossSegmentBoundaries() throws IOException {
+        int[] lengths = {0, 1, SEGMENT_SIZE - 1, SEGMENT_SIZE, SEGMENT_SIZE + 1, 3 * SEGMENT_SIZE, 3 * SEGMENT_SIZE + 7};
+        for (StreamingAead aead : new StreamingAead[]{aes, sm4}) {
+            for (int length : lengths) {
+                byte[] plaintext = random(length);
+                assertArrayEquals(plaintext, decrypt(aead, encrypt(aead, plaintext)), "length=" + length);
+            }
+        }
+    }
+
+    @Test
+    void exactMultipleEndsWithFullLastSegment() throws IOException {
+        byte[] ciphertext = encrypt(aes, random(2 * SEGMENT_SIZE));
+        assertEquals(StreamHeader.LENGTH + 2 * CIPHERTEXT_SEGMENT_SIZE, ciphertext.length);
+    }
+
+    @Test
+    void emptyPlaintextHasOnlyTheFinalTag() throws IOException {
+        byte[] ciphertext = encrypt(aes, new byte[0]);
+        assertEquals(StreamHeader.LENGTH + SegmentCipher.TAG_LENGTH, ciphertext.length);
+    }
+
+    @Test
+    void droppingTrailingSegmentsIsDetected() throws IOException {
+        byte[] ciphertext = encrypt(aes, random(3 * SEGMENT_SIZE));
+        // 在分段边界截断，剩余的末段是以非末段nonce加密的
+        byte[] truncated = Arrays.copyOf(ciphertext, StreamHeader.LENGTH + 2 * CIPHERTEXT_SEGMENT_SIZE);
+        assertThrows(DecryptException.class, () -> decrypt(aes, truncated));
+    }
+
+    @Test
+    void truncatingInsideASegmentIsDetected() throws IOException {
+        byte[] ciphertext = encrypt(aes, random(2 * SEGMENT_SIZE + 10));
+        byte[] truncated = Arrays.copyOf(ciphertext, ciphertext.length - 5);
+        assertThrows(DecryptException.class, () -> decrypt(aes, truncated));
+    }
+
+    @Test
+    void truncatedHeaderIsDetected() throws IOException {
+        byte[] ciphertext = encrypt(aes, random(10));
+        byte[] truncated = Arrays.copyOf(ciphertext, StreamHeader.LENGTH - 1);
+        assertThrows(DecryptException.class, () -> decrypt(aes, truncated));
+    }
+
+    @Test
+    void reorderedSegmentsAreDetected() throws IOException {
+        byte[] ciphertext = encrypt(sm4, random(3 * SEGMENT_SIZE + 1));
+        byte[] reordered = ciphertext.clone();
+        int first = StreamHeader.LENGTH;
+        int second = first + CIPHERTEXT_SEGMENT_SIZE;
+        System.arraycopy(ciphertext, second, reordered, first, CIPHERTEXT_SEGMENT_SIZE);
+        System.arraycopy(ciphertext, first, reordered, second, CIPHERTEXT_SEGMENT_SIZE);
+        assertThrows(DecryptException.class, () -> decrypt(sm4, reordered));
+    }
+
+    @Test
+    void seekableChannelReadsFromAnyPosition(@TempDir Path dir) throws IOException {
+        byte[] plaintext = random(4 * SEGMENT_SIZE);
+        Path file = dir.resolve("data.enc");
+        Files.write(file, encrypt(aes, plaintext));
+        try (SeekableByteChannel channel = aes.newSeekableDecryptingChannel(
+                Files.newByteChannel(file, StandardOpenOption.READ))) {
+            assertEquals(plaintext.length, channel.size());
+            ByteBuffer buffer = ByteBuffer.allocate(SEGMENT_SIZE + 20);
+            channel.position(SEGMENT_SIZE - 10);
+            while (buffer.hasRemaining() && channel.read(buffer) > 0) {
+                // 跨越分段边界读取
+            }
+            assertArrayEquals(Arrays.copyOfRange(plaintext, SEGMENT_SIZE - 10, 2 * SEGMENT_SIZE + 10), buffer.array());
+        }
+    }
+
+    @Test
+    void seekableChannelRejectsSegmentBoundaryTruncation(@TempDir Path dir)
+            throws IOException {
+        byte[] ciphertext = encrypt(aes, random(2 * SEGMENT_SIZE));
+        Path file = dir.resolve("truncated.enc");
+        Files.write(file, Arrays.copyOf(ciphertext, StreamHeader.LENGTH + CIPHERTEXT_SEGMENT_SIZE));
+        try (SeekableByteChannel channel = aes.newSeekableDecryptingChannel(
+                Files.newByteChannel(file, StandardOpenOption.READ))) {
+            assertThrows(DecryptException.class, () -> channel.read(ByteBuffer.allocate(SEGMENT_SIZE)));
+        }
+    }
+
+    private static byte[] encrypt(StreamingAead aead, byte[] plaintext) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (OutputStream encrypting = aead.newEncryptingStream(out)) {
+            encrypting.write(plaintext);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] decrypt(StreamingAead aead, byte[] ciphertext) throws IOException {
+        try (InputStream in = aead.newDecryptingStream(new ByteArrayInputStream(ciphertext))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static byte[] random(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+}